@@ -0,0 +1,74 @@
+package br.com.humbertofernandes.aluno.api;
+
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.repository.AlunoRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public final class BenchmarkContext {
+
+    private static final int SEED_CHUNK = 1_000;
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * Sobe a aplicação com um H2 em memória; cada {@code chave=valor} recebido sobrepõe o padrão
+     * e {@code chave=} remove o padrão, deixando valer o application.properties e o perfil ativo.
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        Map<String, String> args = new LinkedHashMap<>();
+        args.put("server.port", "0");
+        args.put("spring.main.banner-mode", "off");
+        args.put("logging.level.root", "WARN");
+        args.put("spring.h2.console.enabled", "false");
+        args.put("spring.datasource.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        args.put("aluno.r2dbc.url", "r2dbc:h2:mem:///benchmark?options=DB_CLOSE_DELAY=-1");
+        args.put("spring.jpa.hibernate.ddl-auto", "none");
+        args.put("spring.jpa.show-sql", "false");
+
+        for (String property : properties) {
+            int separator = property.indexOf('=');
+            String key = property.substring(0, separator);
+            String value = property.substring(separator + 1);
+
+            if (value.isEmpty()) {
+                args.remove(key);
+            } else {
+                args.put(key, value);
+            }
+        }
+
+        return new SpringApplicationBuilder(AlunoApiApplication.class)
+                .run(args.entrySet().stream().map(arg -> "--" + arg.getKey() + "=" + arg.getValue()).toArray(String[]::new));
+    }
+
+    public static void seed(ConfigurableApplicationContext context, int rows) {
+        AlunoRepository alunoRepository = context.getBean(AlunoRepository.class);
+        List<Aluno> chunk = new ArrayList<>(SEED_CHUNK);
+
+        for (int i = 1; i <= rows; i++) {
+            chunk.add(aluno("aluno-" + i, 18 + i % 60));
+
+            if (chunk.size() == SEED_CHUNK || i == rows) {
+                alunoRepository.insertAll(chunk);
+                chunk.clear();
+            }
+        }
+    }
+
+    public static Aluno aluno(String nome, int idade) {
+        Aluno aluno = new Aluno();
+        aluno.setNome(nome);
+        aluno.setIdade(idade);
+        return aluno;
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.humbertofernandes.aluno.api;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subida a frio: cada medição roda em uma JVM nova ({@code @Fork(5)}, uma iteração por fork, sem aquecimento).
+ * {@code startup} mede a subida do contexto; {@code firstRequest} sobe o contexto fora da medição e mede só o
+ * primeiro {@code GET /aluno/{id}}, que no perfil fast-startup paga a criação dos beans adiados.
+ * <p>
+ * O {@code default} usa o application.properties como está (Hibernate recriando o schema, Swagger ligado);
+ * o AppCDS não entra aqui porque exige o classpath em jars, ver o perfil Maven {@code appcds}.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Profile {
+
+        @Param({"default", "fast-startup"})
+        public String profile;
+
+        ConfigurableApplicationContext context;
+
+        ConfigurableApplicationContext start() {
+            return "default".equals(profile)
+                    ? BenchmarkContext.start("spring.jpa.hibernate.ddl-auto=")
+                    : BenchmarkContext.start("spring.jpa.hibernate.ddl-auto=", "spring.profiles.active=" + profile);
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Started {
+
+        String url;
+
+        @Setup(Level.Iteration)
+        public void setUp(Profile profile) {
+            profile.context = profile.start();
+            url = "http://localhost:" + profile.context.getEnvironment().getProperty("local.server.port") + "/aluno/1";
+        }
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext startup(Profile profile) {
+        profile.context = profile.start();
+        return profile.context;
+    }
+
+    @Benchmark
+    public int firstRequest(Started started) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(started.url).openConnection();
+        try {
+            return connection.getResponseCode();
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.humbertofernandes.aluno.api.config;
+
+import br.com.humbertofernandes.aluno.api.BenchmarkContext;
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.repository.AlunoRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de leitura no banco H2 em arquivo, sem passar pelo cache, com o datasource padrão e com o perfil prod.
+ * A concorrência é dada pela quantidade de threads do JMH, por exemplo:
+ * {@code -Djmh.args="DataSourceLoadBenchmark -t 32"} para 1, 8, 32 e 128 clientes.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataSourceLoadBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final File DATABASE_DIR = new File("target/benchmark-db");
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private AlunoRepository alunoRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        File database = new File(DATABASE_DIR, profile);
+        FileSystemUtils.deleteRecursively(database);
+
+        context = "prod".equals(profile)
+                ? BenchmarkContext.start("spring.profiles.active=prod", "spring.datasource.url=",
+                        "aluno.datasource.h2-path=" + database.getAbsolutePath() + "/aluno")
+                : BenchmarkContext.start("spring.datasource.url=jdbc:h2:file:" + database.getAbsolutePath() + "/aluno");
+        BenchmarkContext.seed(context, rows);
+        alunoRepository = context.getBean(AlunoRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Aluno> readPage() {
+        long after = ThreadLocalRandom.current().nextLong(0, rows);
+        return alunoRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, PAGE_SIZE));
+    }
+}
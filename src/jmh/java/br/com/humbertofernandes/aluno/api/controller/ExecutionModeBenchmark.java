@@ -0,0 +1,86 @@
+package br.com.humbertofernandes.aluno.api.controller;
+
+import br.com.humbertofernandes.aluno.api.BenchmarkContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de GET /aluno via HTTP com muitos clientes simultâneos e poucas threads no Tomcat, comparando
+ * {@code aluno.execution.mode=blocking} (thread por requisição) com {@code async}. Rodando o JMH em um JDK 21+
+ * o modo async usa virtual threads; em JDKs anteriores, ou com {@code virtualThreads=false}, usa o pool limitado.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"blocking", "async"})
+    public String mode;
+
+    @Param({"true"})
+    public boolean virtualThreads;
+
+    @Param({"8"})
+    public int tomcatThreads;
+
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("aluno.execution.mode=" + mode,
+                "aluno.execution.virtual-threads=" + virtualThreads,
+                "server.tomcat.threads.max=" + tomcatThreads);
+        BenchmarkContext.seed(context, ROWS);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/aluno";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getPage() throws IOException {
+        long after = ThreadLocalRandom.current().nextLong(0, ROWS);
+        return get(baseUrl + "?limit=" + PAGE_SIZE + "&after=" + after);
+    }
+
+    private static int get(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try (InputStream body = connection.getInputStream()) {
+            StreamUtils.drain(body);
+            return connection.getResponseCode();
+        }
+    }
+}
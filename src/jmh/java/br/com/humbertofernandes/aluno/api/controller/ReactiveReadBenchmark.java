@@ -0,0 +1,75 @@
+package br.com.humbertofernandes.aluno.api.controller;
+
+import br.com.humbertofernandes.aluno.api.BenchmarkContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão e memória da leitura de uma página grande por HTTP: {@code GET /aluno} (JPA, array JSON) contra
+ * {@code GET /v2/aluno} (R2DBC, NDJSON). Servidor e clientes rodam no mesmo processo, então
+ * {@code -Djmh.args="ReactiveReadBenchmark -prof gc"} mostra a alocação por requisição dos dois lados.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class ReactiveReadBenchmark {
+
+    private static final int ROWS = 20_000;
+
+    @Param({"/aluno", "/v2/aluno"})
+    public String path;
+
+    @Param({"1000"})
+    public int limit;
+
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("aluno.pagination.max-size=" + limit);
+        BenchmarkContext.seed(context, ROWS);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + path;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int readPage() throws IOException {
+        long after = ThreadLocalRandom.current().nextLong(0, ROWS - limit);
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + "?limit=" + limit + "&after=" + after).openConnection();
+        try (InputStream body = connection.getInputStream()) {
+            return StreamUtils.drain(body);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.humbertofernandes.aluno.api.controller;
+
+import br.com.humbertofernandes.aluno.api.BenchmarkContext;
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codifica e decodifica uma página de {@code GET /aluno} em JSON, CBOR e Smile com mappers montados como os da
+ * aplicação, sem HTTP nem banco. {@code streamList} grava aluno a aluno como o {@code GET /aluno/stream}, em array
+ * de tamanho indefinido. O tamanho do payload de cada formato é impresso no início de cada trial.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<List<Aluno>> LIST = new TypeReference<List<Aluno>>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<Aluno> alunos;
+    private byte[] payload;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = mapper(format);
+        writer = mapper.writerFor(LIST);
+        reader = mapper.readerFor(LIST);
+
+        alunos = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            Aluno aluno = BenchmarkContext.aluno("Aluno número " + i, 18 + i % 60);
+            aluno.setId((long) i);
+            aluno.setVersao(0L);
+            alunos.add(aluno);
+        }
+        payload = writer.writeValueAsBytes(alunos);
+        buffer = new ByteArrayOutputStream(payload.length * 2);
+        System.out.printf("%n%s: %d alunos em %d bytes%n", format, size, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encodeList() throws IOException {
+        buffer.reset();
+        writer.writeValue(buffer, alunos);
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] streamList() throws IOException {
+        buffer.reset();
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(buffer)) {
+            generator.writeStartArray();
+            for (Aluno aluno : alunos) {
+                generator.writeObject(aluno);
+            }
+            generator.writeEndArray();
+        }
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public List<Aluno> decodeList() throws IOException {
+        return reader.readValue(payload);
+    }
+
+    private static ObjectMapper mapper(String format) {
+        switch (format) {
+            case "json":
+                return Jackson2ObjectMapperBuilder.json().build();
+            case "cbor":
+                return Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile":
+                return Jackson2ObjectMapperBuilder.smile().build();
+            default:
+                throw new IllegalArgumentException(format);
+        }
+    }
+}
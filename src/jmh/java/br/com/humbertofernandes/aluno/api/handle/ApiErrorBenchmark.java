@@ -0,0 +1,126 @@
+package br.com.humbertofernandes.aluno.api.handle;
+
+import br.com.humbertofernandes.aluno.api.BenchmarkContext;
+import br.com.humbertofernandes.aluno.api.config.ApiErrorConfig;
+import br.com.humbertofernandes.aluno.api.handle.ErrorResponse.ApiError;
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.MessageSource;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.http.HttpStatus;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Os métodos {@code messageSource*} refazem o caminho anterior ao {@link ApiErrorCatalog} (resolver a mensagem no
+ * {@link MessageSource} e serializar o {@link ErrorResponse} a cada erro) para comparar com o corpo já pronto que
+ * os métodos {@code catalog*} devolvem, em um 400 de validação e em um 404.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiErrorBenchmark {
+
+    private static final Locale PT_BR = new Locale("pt", "BR");
+
+    private ObjectMapper objectMapper;
+    private MessageSource messageSource;
+    private ApiExceptionHandler apiExceptionHandler;
+    private Aluno aluno;
+    private ErrorResponse errorResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        ApiErrorConfig config = new ApiErrorConfig();
+        messageSource = config.apiErrorMessageSource();
+        apiExceptionHandler = new ApiExceptionHandler(config.apiErrorCatalog(messageSource, objectMapper), new SimpleMeterRegistry());
+        aluno = BenchmarkContext.aluno("Humberto", 29);
+        aluno.setId(1L);
+        aluno.setVersao(0L);
+        errorResponse = ErrorResponse.of(HttpStatus.NOT_FOUND, apiExceptionHandler.toApiError("aluno-5", PT_BR));
+    }
+
+    @Benchmark
+    public byte[] serializeAluno() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(aluno);
+    }
+
+    @Benchmark
+    public byte[] serializeErrorResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(errorResponse);
+    }
+
+    @Benchmark
+    public ApiError toApiError() {
+        return apiExceptionHandler.toApiError("aluno-5", PT_BR);
+    }
+
+    @Benchmark
+    public ApiError toApiErrorWithArgument() {
+        return apiExceptionHandler.toApiError("generic-1", PT_BR, "19#");
+    }
+
+    @Benchmark
+    public ApiError toApiErrorMissingCode() {
+        return apiExceptionHandler.toApiError("missing-1", PT_BR);
+    }
+
+    @Benchmark
+    public byte[] messageSourceBadRequest() throws JsonProcessingException {
+        return messageSourceErrorResponse(HttpStatus.BAD_REQUEST, "aluno-1");
+    }
+
+    @Benchmark
+    public byte[] catalogBadRequest() {
+        return apiExceptionHandler.toErrorResponseBytes(HttpStatus.BAD_REQUEST, "aluno-1", PT_BR);
+    }
+
+    @Benchmark
+    public byte[] messageSourceNotFound() throws JsonProcessingException {
+        return messageSourceErrorResponse(HttpStatus.NOT_FOUND, "aluno-5");
+    }
+
+    @Benchmark
+    public byte[] catalogNotFound() {
+        return apiExceptionHandler.toErrorResponseBytes(HttpStatus.NOT_FOUND, "aluno-5", PT_BR);
+    }
+
+    @Benchmark
+    public byte[] messageSourceMissingCode() throws JsonProcessingException {
+        return messageSourceErrorResponse(HttpStatus.BAD_REQUEST, "missing-1");
+    }
+
+    @Benchmark
+    public byte[] catalogMissingCode() {
+        return apiExceptionHandler.toErrorResponseBytes(HttpStatus.BAD_REQUEST, "missing-1", PT_BR);
+    }
+
+    private byte[] messageSourceErrorResponse(HttpStatus status, String code) throws JsonProcessingException {
+        String message;
+        try {
+            message = messageSource.getMessage(code, null, PT_BR);
+        } catch (NoSuchMessageException exception) {
+            message = ApiErrorCatalog.NO_MESSAGE_AVAILABLE;
+        }
+        return objectMapper.writeValueAsBytes(ErrorResponse.of(status, new ApiError(code, message)));
+    }
+}
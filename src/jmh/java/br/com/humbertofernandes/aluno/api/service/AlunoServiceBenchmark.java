@@ -0,0 +1,97 @@
+package br.com.humbertofernandes.aluno.api.service;
+
+import br.com.humbertofernandes.aluno.api.BenchmarkContext;
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlunoServiceBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"10000"})
+    public int rows;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private AlunoService alunoService;
+    private AlunoBatchService alunoBatchService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, rows);
+        alunoService = context.getBean(AlunoService.class);
+        alunoBatchService = context.getBean(AlunoBatchService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Aluno findById() {
+        return alunoService.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Aluno> getAll() {
+        return alunoService.getAll(randomId(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Aluno save() {
+        return alunoService.save(BenchmarkContext.aluno("novo-" + sequence.incrementAndGet(), 20));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<AlunoBatchResult> saveBatch() {
+        List<Aluno> alunos = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            alunos.add(BenchmarkContext.aluno("lote-" + sequence.incrementAndGet(), 20));
+        }
+        return alunoBatchService.saveAll(0, alunos);
+    }
+
+    @Benchmark
+    public Aluno update() {
+        long id = randomId();
+        return alunoService.update(id, BenchmarkContext.aluno("aluno-" + id, 18 + (int) (id % 60)));
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+}
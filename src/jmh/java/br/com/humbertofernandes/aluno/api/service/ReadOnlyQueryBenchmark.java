@@ -0,0 +1,79 @@
+package br.com.humbertofernandes.aluno.api.service;
+
+import br.com.humbertofernandes.aluno.api.BenchmarkContext;
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alocação por página de {@code GET /aluno} com a consulta em transação somente leitura (flush MANUAL, entidades
+ * sem snapshot) contra a mesma consulta em uma transação de escrita, que guarda o estado carregado de cada aluno
+ * e faz dirty-checking no commit. Rodar com {@code -Djmh.args="ReadOnlyQueryBenchmark -prof gc"} e comparar
+ * {@code gc.alloc.rate.norm}.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlyQueryBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"true", "false"})
+    public boolean readOnly;
+
+    private ConfigurableApplicationContext context;
+    private AlunoService alunoService;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, ROWS);
+        alunoService = context.getBean(AlunoService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(readOnly);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Aluno> getAll() {
+        long after = ThreadLocalRandom.current().nextLong(0, ROWS - PAGE_SIZE);
+        return transactionTemplate.execute(status -> alunoService.getAll(after, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<Aluno> getAllSortedByIdade() {
+        long id = ThreadLocalRandom.current().nextLong(1, ROWS - PAGE_SIZE);
+        AlunoCursor after = AlunoCursor.parse(String.valueOf(id));
+        AlunoFilter filter = AlunoFilter.of(null, null, null, "idade");
+        return transactionTemplate.execute(status -> alunoService.getAll(filter, after, PAGE_SIZE));
+    }
+}
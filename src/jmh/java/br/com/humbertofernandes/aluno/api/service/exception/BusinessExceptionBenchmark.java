@@ -0,0 +1,88 @@
+package br.com.humbertofernandes.aluno.api.service.exception;
+
+import br.com.humbertofernandes.aluno.api.config.ApiErrorConfig;
+import br.com.humbertofernandes.aluno.api.handle.ApiExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho de um 404 do serviço até o corpo da resposta: lança o {@link AlunoNotFoundException} a {@code depth}
+ * quadros de profundidade, como acontece sob os filtros, interceptadores e proxies do Spring, e o entrega ao
+ * {@link ApiExceptionHandler}. {@code withStackTrace} é o comportamento anterior, capturando a pilha.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusinessExceptionBenchmark {
+
+    private static final Locale PT_BR = new Locale("pt", "BR");
+
+    @Param({"120"})
+    public int depth;
+
+    private ApiExceptionHandler apiExceptionHandler;
+
+    @Setup
+    public void setUp() {
+        ApiErrorConfig config = new ApiErrorConfig();
+        apiExceptionHandler = new ApiExceptionHandler(
+                config.apiErrorCatalog(config.apiErrorMessageSource(), new ObjectMapper()), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> stackless() {
+        try {
+            throwAt(depth, false);
+            throw new IllegalStateException();
+        } catch (BusinessException exception) {
+            return apiExceptionHandler.handleBusinessException(exception, PT_BR);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> withStackTrace() {
+        try {
+            throwAt(depth, true);
+            throw new IllegalStateException();
+        } catch (BusinessException exception) {
+            return apiExceptionHandler.handleBusinessException(exception, PT_BR);
+        }
+    }
+
+    private static int throwAt(int depth, boolean stackTrace) {
+        if (depth == 0) {
+            throw stackTrace ? new TracedNotFoundException() : new AlunoNotFoundException();
+        }
+        return throwAt(depth - 1, stackTrace) + 1;
+    }
+
+    private static final class TracedNotFoundException extends BusinessException {
+
+        private static final long serialVersionUID = 1L;
+
+        private TracedNotFoundException() {
+            super("aluno-5", HttpStatus.NOT_FOUND, true);
+        }
+    }
+}
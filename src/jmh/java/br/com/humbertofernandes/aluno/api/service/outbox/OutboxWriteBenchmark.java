@@ -0,0 +1,74 @@
+package br.com.humbertofernandes.aluno.api.service.outbox;
+
+import br.com.humbertofernandes.aluno.api.BenchmarkContext;
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.service.AlunoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Custo da outbox nas escritas de aluno: {@code disabled} sem outbox; {@code write-path} grava a linha da outbox
+ * na transação, mas o relay não roda durante o trial, medindo só o caminho da requisição; {@code relay} drena a
+ * tabela a cada 100ms, e em uma máquina com poucos núcleos esse trabalho em segundo plano disputa CPU com as
+ * escritas. O aquecimento é longo porque com a outbox há mais código para o JIT compilar antes de estabilizar.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class OutboxWriteBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"disabled", "write-path", "relay"})
+    public String outbox;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private AlunoService alunoService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("aluno.outbox.enabled=" + !"disabled".equals(outbox),
+                "aluno.outbox.poll-interval=" + ("relay".equals(outbox) ? "100ms" : "1h"));
+        BenchmarkContext.seed(context, ROWS);
+        alunoService = context.getBean(AlunoService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Aluno save() {
+        return alunoService.save(BenchmarkContext.aluno("novo-" + sequence.incrementAndGet(), 20));
+    }
+
+    @Benchmark
+    public Aluno update() {
+        long id = ThreadLocalRandom.current().nextLong(1, ROWS + 1);
+        return alunoService.update(id, BenchmarkContext.aluno("aluno-" + id, 18 + (int) (id % 60)));
+    }
+}
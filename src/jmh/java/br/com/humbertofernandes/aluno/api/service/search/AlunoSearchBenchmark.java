@@ -0,0 +1,65 @@
+package br.com.humbertofernandes.aluno.api.service.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência de uma busca no {@link TrigramIndex} com um milhão de nomes compostos de nome e dois sobrenomes
+ * comuns, direto no índice, sem Spring nem banco. O tamanho estimado do índice é impresso ao final da carga.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class AlunoSearchBenchmark {
+
+    private static final String[] NOMES = {"Ana", "Antonio", "Beatriz", "Bruno", "Carla", "Carlos", "Daniel",
+            "Eduarda", "Fernanda", "Francisco", "Gabriel", "Helena", "Humberto", "Isabela", "João", "Julia", "Lourdes",
+            "Lucas", "Luiz", "Marcos", "Maria", "Mateus", "Natália", "Paulo", "Pedro", "Rafael", "Rubens", "Sofia",
+            "Thais", "Vitória"};
+    private static final String[] SOBRENOMES = {"Almeida", "Alves", "Araújo", "Barbosa", "Cardoso", "Carvalho",
+            "Castro", "Costa", "Dias", "Fernandes", "Ferreira", "Gomes", "Lima", "Martins", "Melo", "Moreira",
+            "Oliveira", "Paiva", "Pereira", "Ribeiro", "Rocha", "Rodrigues", "Santos", "Silva", "Soares", "Souza",
+            "Tadeu", "Teixeira", "Vieira", "Xavier"};
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"Humberto Fernandes", "Lurdes Olivera", "tadeu"})
+    public String query;
+
+    private TrigramIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new TrigramIndex();
+        for (int id = 1; id <= rows; id++) {
+            index.put(id, NOMES[random.nextInt(NOMES.length)] + ' ' + SOBRENOMES[random.nextInt(SOBRENOMES.length)]
+                    + ' ' + SOBRENOMES[random.nextInt(SOBRENOMES.length)] + ' ' + id);
+        }
+        System.out.printf("%n%d names, ~%d MB of index%n", index.size(), index.estimatedBytes() >> 20);
+    }
+
+    @Benchmark
+    public long[] search() {
+        return index.search(query, 0.5, 20);
+    }
+}
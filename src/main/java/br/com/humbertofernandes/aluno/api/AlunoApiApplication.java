@@ -2,12 +2,23 @@ package br.com.humbertofernandes.aluno.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
 
-@SpringBootApplication
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class, proxyBeanMethods = false)
 public class AlunoApiApplication {
 
+	/**
+	 * Encerra logo após subir; usado pelo perfil Maven {@code appcds} para registrar as classes carregadas na subida.
+	 */
+	private static final String EXIT_AFTER_START = "aluno.startup.exit-after-start";
+
 	public static void main(String[] args) {
-		SpringApplication.run(AlunoApiApplication.class, args);
+		ConfigurableApplicationContext context = SpringApplication.run(AlunoApiApplication.class, args);
+
+		if (context.getEnvironment().getProperty(EXIT_AFTER_START, Boolean.class, false)) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
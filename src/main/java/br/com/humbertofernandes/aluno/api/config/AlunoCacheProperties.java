@@ -0,0 +1,22 @@
+package br.com.humbertofernandes.aluno.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@ConfigurationProperties(prefix = "aluno.cache")
+@Getter
+@Setter
+public class AlunoCacheProperties {
+
+    private long maximumSize = 10_000;
+    private Duration ttl = Duration.ofMinutes(5);
+    private Duration negativeTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,21 @@
+package br.com.humbertofernandes.aluno.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@ConfigurationProperties(prefix = "aluno.loader")
+@Getter
+@Setter
+public class AlunoLoaderProperties {
+
+    private Duration window = Duration.ofMillis(2);
+    private int maxBatchSize = 100;
+}
@@ -1,5 +1,7 @@
 package br.com.humbertofernandes.aluno.api.config;
 
+import br.com.humbertofernandes.aluno.api.handle.ApiErrorCatalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,15 +10,22 @@ import org.springframework.context.support.ReloadableResourceBundleMessageSource
 /**
  * @author Humberto Tadeu de Paiva Gomes Fernandes
  */
-@Configuration
+@Configuration(proxyBeanMethods = false)
 public class ApiErrorConfig {
 
+    private static final String BASENAME = "api_errors";
+
     @Bean
     public MessageSource apiErrorMessageSource() {
         ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
-        messageSource.setBasename("classpath:/api_errors");
+        messageSource.setBasename("classpath:/" + BASENAME);
         messageSource.setDefaultEncoding("UTF-8");
 
         return messageSource;
     }
+
+    @Bean
+    public ApiErrorCatalog apiErrorCatalog(MessageSource apiErrorMessageSource, ObjectMapper objectMapper) {
+        return new ApiErrorCatalog(apiErrorMessageSource, BASENAME, objectMapper);
+    }
 }
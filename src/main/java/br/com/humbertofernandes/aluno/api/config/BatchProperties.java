@@ -0,0 +1,23 @@
+package br.com.humbertofernandes.aluno.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@ConfigurationProperties(prefix = "aluno.batch")
+@Getter
+@Setter
+public class BatchProperties {
+
+    private int chunkSize = 500;
+
+    /**
+     * Quantidade máxima de ids aceita por {@code DELETE /aluno?ids=}, que apaga tudo em uma única transação.
+     */
+    private int maxDeleteIds = 1000;
+}
@@ -0,0 +1,22 @@
+package br.com.humbertofernandes.aluno.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@ConfigurationProperties(prefix = "aluno.events")
+@Getter
+@Setter
+public class EventProperties {
+
+    private int queueCapacity = 10_000;
+    private int batchSize = 100;
+    private Duration offerTimeout = Duration.ofMillis(100);
+}
@@ -0,0 +1,21 @@
+package br.com.humbertofernandes.aluno.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@ConfigurationProperties(prefix = "aluno.execution")
+@Getter
+@Setter
+public class ExecutionProperties {
+
+    private String mode = "blocking";
+    private boolean virtualThreads = true;
+    private int poolSize = 10;
+    private int queueCapacity = 1_000;
+}
@@ -0,0 +1,39 @@
+package br.com.humbertofernandes.aluno.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@Profile("prod")
+public class HikariPoolSizing implements BeanPostProcessor {
+
+    private static final String MAXIMUM_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+
+    private final Environment environment;
+    private final int connectionsPerCore;
+
+    public HikariPoolSizing(Environment environment,
+                            @Value("${aluno.datasource.connections-per-core:2}") int connectionsPerCore) {
+        this.environment = environment;
+        this.connectionsPerCore = connectionsPerCore;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource && !environment.containsProperty(MAXIMUM_POOL_SIZE)) {
+            int poolSize = Runtime.getRuntime().availableProcessors() * connectionsPerCore + 1;
+            HikariDataSource dataSource = (HikariDataSource) bean;
+            dataSource.setMaximumPoolSize(poolSize);
+            dataSource.setMinimumIdle(poolSize);
+        }
+
+        return bean;
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.humbertofernandes.aluno.api.config;
+
+import br.com.humbertofernandes.aluno.api.service.cache.AlunoCache;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder alunoCacheMetrics(AlunoCache alunoCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, alunoCache.getNativeCache(), AlunoCache.NAME);
+    }
+
+    @Bean
+    public MeterBinder dataSourcePoolSaturationMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof HikariDataSource) {
+                Gauge.builder("aluno.datasource.pool.saturation", (HikariDataSource) dataSource, MetricsConfig::saturation)
+                        .description("Conexões em uso mais threads aguardando, dividido pelo tamanho máximo do pool")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static double saturation(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return 0;
+        }
+
+        return (pool.getActiveConnections() + pool.getThreadsAwaitingConnection()) / (double) dataSource.getMaximumPoolSize();
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.humbertofernandes.aluno.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@ConfigurationProperties(prefix = "aluno.outbox")
+@Getter
+@Setter
+public class OutboxProperties {
+
+    private boolean enabled = true;
+    private int batchSize = 500;
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private String sink = "memory";
+    private int memoryCapacity = 10_000;
+    private String file = "aluno-outbox.ndjson";
+}
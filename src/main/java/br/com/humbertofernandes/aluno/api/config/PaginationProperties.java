@@ -0,0 +1,27 @@
+package br.com.humbertofernandes.aluno.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@ConfigurationProperties(prefix = "aluno.pagination")
+@Getter
+@Setter
+public class PaginationProperties {
+
+    private int defaultSize = 100;
+    private int maxSize = 1000;
+
+    public int resolve(Integer limit) {
+        if (limit == null) {
+            return defaultSize;
+        }
+
+        return Math.max(1, Math.min(limit, maxSize));
+    }
+}
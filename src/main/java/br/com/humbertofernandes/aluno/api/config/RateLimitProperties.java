@@ -0,0 +1,34 @@
+package br.com.humbertofernandes.aluno.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@ConfigurationProperties(prefix = "aluno.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private String clientHeader = "X-Client-Id";
+    /**
+     * Endereços do proxy ou gateway que preenche o {@link #clientHeader}. Só requisições vindas deles usam o
+     * cabeçalho; as demais são identificadas pelo IP, para que um cliente não escape do limite trocando o valor.
+     */
+    private Set<String> trustedProxies = new LinkedHashSet<>();
+    private int capacity = 100;
+    private double refillPerSecond = 50;
+    private int maxClients = 100_000;
+    private Duration clientIdleTimeout = Duration.ofMinutes(5);
+    private int maxConcurrent = 50;
+    private Duration overloadRetryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,21 @@
+package br.com.humbertofernandes.aluno.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@ConfigurationProperties(prefix = "aluno.r2dbc")
+@Getter
+@Setter
+public class ReactiveDataSourceProperties {
+
+    private String url;
+    private String username;
+    private String password;
+    private int maxSize = 10;
+}
@@ -0,0 +1,28 @@
+package br.com.humbertofernandes.aluno.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@ConfigurationProperties(prefix = "aluno.search")
+@Getter
+@Setter
+public class SearchProperties {
+
+    private double minSimilarity = 0.5;
+    private int defaultSize = 20;
+    private int maxSize = 100;
+
+    public int resolve(Integer limit) {
+        if (limit == null) {
+            return defaultSize;
+        }
+
+        return Math.max(1, Math.min(limit, maxSize));
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.humbertofernandes.aluno.api.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Formatos binários ({@code application/cbor} e {@code application/x-jackson-smile}) escolhidos pelo
+ * {@code Accept}, para os clientes internos que leem listas grandes de alunos. Os conversores são montados pelo
+ * mesmo {@link Jackson2ObjectMapperBuilder} do JSON, com as mesmas configurações {@code spring.jackson.*}, e
+ * substituem os padrões do Spring MVC na mesma posição, depois do JSON, que continua sendo o formato sem
+ * {@code Accept}.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Configuration(proxyBeanMethods = false)
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
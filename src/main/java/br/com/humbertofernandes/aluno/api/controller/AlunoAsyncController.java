@@ -0,0 +1,146 @@
+package br.com.humbertofernandes.aluno.api.controller;
+
+import br.com.humbertofernandes.aluno.api.config.BatchProperties;
+import br.com.humbertofernandes.aluno.api.config.PaginationProperties;
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.model.AlunoView;
+import br.com.humbertofernandes.aluno.api.service.AlunoBatchResult;
+import br.com.humbertofernandes.aluno.api.service.AlunoBatchService;
+import br.com.humbertofernandes.aluno.api.service.AlunoService;
+import br.com.humbertofernandes.aluno.api.service.search.AlunoSearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static br.com.humbertofernandes.aluno.api.controller.AlunoController.APPLICATION_NDJSON_VALUE;
+
+/**
+ * Mesmos endpoints de {@link AlunoController}, ativos com {@code aluno.execution.mode=async}: cada requisição
+ * devolve a thread do servlet e é concluída pelo {@link AlunoExecutor}.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@RestController
+@RequestMapping("/aluno")
+@ConditionalOnProperty(prefix = "aluno.execution", name = "mode", havingValue = "async")
+public class AlunoAsyncController {
+
+    private final AlunoController blocking;
+    private final AlunoExecutor executor;
+
+    @Autowired
+    AlunoAsyncController(ApplicationEventPublisher publisher, AlunoService alunoService,
+                         AlunoBatchService alunoBatchService, PaginationProperties paginationProperties,
+                         BatchProperties batchProperties, ObjectMapper objectMapper,
+                         AlunoSearchService alunoSearchService, AlunoWireFormats wireFormats,
+                         AlunoExecutor executor) {
+        this.blocking = new AlunoController(publisher, alunoService, alunoBatchService, paginationProperties,
+                batchProperties, objectMapper, alunoSearchService, wireFormats);
+        this.executor = executor;
+    }
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<List<Aluno>>> all(@RequestParam(required = false) String after,
+                                                              @RequestParam(required = false) Integer limit,
+                                                              @RequestParam(required = false) String nome,
+                                                              @RequestParam(required = false) Integer idadeMin,
+                                                              @RequestParam(required = false) Integer idadeMax,
+                                                              @RequestParam(required = false) String sort,
+                                                              @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return executor.supply(() -> blocking.all(after, limit, nome, idadeMin, idadeMax, sort, accept));
+    }
+
+    @GetMapping(params = "fields")
+    public CompletableFuture<ResponseEntity<List<AlunoView>>> all(@RequestParam(required = false) String after,
+                                                                  @RequestParam(required = false) Integer limit,
+                                                                  @RequestParam(required = false) String nome,
+                                                                  @RequestParam(required = false) Integer idadeMin,
+                                                                  @RequestParam(required = false) Integer idadeMax,
+                                                                  @RequestParam(required = false) String sort,
+                                                                  @RequestParam String fields,
+                                                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return executor.supply(() -> blocking.all(after, limit, nome, idadeMin, idadeMax, sort, fields, accept));
+    }
+
+    @GetMapping("/search")
+    public CompletableFuture<ResponseEntity<List<Aluno>>> search(@RequestParam String q,
+                                                                 @RequestParam(required = false) Integer limit) {
+        return executor.supply(() -> blocking.search(q, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            AlunoWireFormats.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<StreamingResponseBody> stream(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return blocking.stream(accept);
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<Aluno>> findId(@PathVariable Long id,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return executor.supply(() -> blocking.findId(id, accept));
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    public CompletableFuture<ResponseEntity<AlunoView>> findId(@PathVariable Long id, @RequestParam String fields,
+                                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return executor.supply(() -> blocking.findId(id, fields, accept));
+    }
+
+    @PostMapping
+    public CompletableFuture<ResponseEntity<Aluno>> create(@Valid @RequestBody Aluno aluno, HttpServletResponse response,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return executor.supply(() -> blocking.create(aluno, response, accept));
+    }
+
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public CompletableFuture<ResponseEntity<List<AlunoBatchResult>>> createBatch(InputStream body) {
+        return executor.supply(() -> {
+            try {
+                return blocking.createBatch(body);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+    }
+
+    @PutMapping("/{id}")
+    public CompletableFuture<ResponseEntity<Aluno>> update(@PathVariable Long id, @Valid @RequestBody Aluno aluno,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return executor.supply(() -> blocking.update(id, aluno, ifMatch, accept));
+    }
+
+    @DeleteMapping("/{id}")
+    public CompletableFuture<ResponseEntity<Object>> delete(@PathVariable Long id,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return executor.supply(() -> blocking.delete(id, ifMatch));
+    }
+
+    @DeleteMapping
+    public CompletableFuture<ResponseEntity<Object>> deleteAll(@RequestParam List<Long> ids) {
+        return executor.supply(() -> blocking.deleteAll(ids));
+    }
+}
@@ -1,11 +1,29 @@
 package br.com.humbertofernandes.aluno.api.controller;
 
+import br.com.humbertofernandes.aluno.api.config.BatchProperties;
+import br.com.humbertofernandes.aluno.api.config.PaginationProperties;
 import br.com.humbertofernandes.aluno.api.event.ResourceCreatedEvent;
 import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.model.AlunoView;
+import br.com.humbertofernandes.aluno.api.service.AlunoBatchResult;
+import br.com.humbertofernandes.aluno.api.service.AlunoBatchService;
+import br.com.humbertofernandes.aluno.api.service.AlunoCursor;
+import br.com.humbertofernandes.aluno.api.service.AlunoFields;
+import br.com.humbertofernandes.aluno.api.service.AlunoFilter;
 import br.com.humbertofernandes.aluno.api.service.AlunoService;
+import br.com.humbertofernandes.aluno.api.service.exception.AlunoDeleteLimitExceededException;
+import br.com.humbertofernandes.aluno.api.service.search.AlunoSearchService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,55 +31,238 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * @author Humberto Tadeu de Paiva Gomes Fernandes
  */
 @RestController
 @RequestMapping("/aluno")
+@ConditionalOnProperty(prefix = "aluno.execution", name = "mode", havingValue = "blocking", matchIfMissing = true)
 public class AlunoController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final ApplicationEventPublisher publisher;
     private final AlunoService alunoService;
+    private final AlunoBatchService alunoBatchService;
+    private final PaginationProperties paginationProperties;
+    private final BatchProperties batchProperties;
+    private final ObjectMapper objectMapper;
+    private final AlunoSearchService alunoSearchService;
+    private final AlunoWireFormats wireFormats;
 
     @Autowired
-    public AlunoController(ApplicationEventPublisher publisher, AlunoService alunoService) {
+    public AlunoController(ApplicationEventPublisher publisher, AlunoService alunoService,
+                           AlunoBatchService alunoBatchService, PaginationProperties paginationProperties,
+                           BatchProperties batchProperties, ObjectMapper objectMapper,
+                           AlunoSearchService alunoSearchService, AlunoWireFormats wireFormats) {
         this.publisher = publisher;
         this.alunoService = alunoService;
+        this.alunoBatchService = alunoBatchService;
+        this.alunoSearchService = alunoSearchService;
+        this.paginationProperties = paginationProperties;
+        this.batchProperties = batchProperties;
+        this.objectMapper = objectMapper;
+        this.wireFormats = wireFormats;
     }
 
     @GetMapping
-    public ResponseEntity<List<Aluno>> all() {
-        List<Aluno> list = alunoService.getAll();
-        return ResponseEntity.status(list.size() > 0 ? HttpStatus.OK : HttpStatus.NO_CONTENT).body(list);
+    public ResponseEntity<List<Aluno>> all(@RequestParam(required = false) String after,
+                                           @RequestParam(required = false) Integer limit,
+                                           @RequestParam(required = false) String nome,
+                                           @RequestParam(required = false) Integer idadeMin,
+                                           @RequestParam(required = false) Integer idadeMax,
+                                           @RequestParam(required = false) String sort,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        int pageSize = paginationProperties.resolve(limit);
+        AlunoFilter filter = AlunoFilter.of(nome, idadeMin, idadeMax, sort);
+        List<Aluno> list = alunoService.getAll(filter, AlunoCursor.parse(after), pageSize);
+
+        MediaType mediaType = wireFormats.negotiate(accept);
+        ResponseEntity.BodyBuilder builder = represent(page(list.size(), pageSize,
+                list.isEmpty() ? null : AlunoCursor.next(filter, list.get(list.size() - 1))), mediaType);
+        if (!list.isEmpty()) {
+            builder.eTag(ETags.of(list, mediaType));
+        }
+
+        return builder.body(list);
+    }
+
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<AlunoView>> all(@RequestParam(required = false) String after,
+                                               @RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) String nome,
+                                               @RequestParam(required = false) Integer idadeMin,
+                                               @RequestParam(required = false) Integer idadeMax,
+                                               @RequestParam(required = false) String sort,
+                                               @RequestParam String fields,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        int pageSize = paginationProperties.resolve(limit);
+        Set<AlunoView.Field> projection = AlunoFields.parse(fields);
+        AlunoFilter filter = AlunoFilter.of(nome, idadeMin, idadeMax, sort);
+        List<AlunoView> list = alunoService.getAll(filter, AlunoCursor.parse(after), pageSize, projection);
+
+        MediaType mediaType = wireFormats.negotiate(accept);
+        ResponseEntity.BodyBuilder builder = represent(page(list.size(), pageSize,
+                list.isEmpty() ? null : AlunoCursor.next(filter, list.get(list.size() - 1))), mediaType);
+        if (!list.isEmpty()) {
+            builder.eTag(ETags.ofViews(list, projection, mediaType));
+        }
+
+        return builder.body(list);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<Aluno>> search(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+        List<Aluno> list = alunoSearchService.search(q, limit);
+        return ResponseEntity.status(list.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK).body(list);
+    }
+
+    /**
+     * Grava cada aluno assim que sai do cursor, em JSON, CBOR ou Smile conforme o {@code Accept}. Nos formatos
+     * binários a lista é um array de tamanho indefinido, fechado só no fim.
+     */
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            AlunoWireFormats.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<StreamingResponseBody> stream(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        MediaType mediaType = wireFormats.negotiate(accept);
+        if (mediaType == null) {
+            mediaType = MediaType.APPLICATION_JSON;
+        }
+        ObjectMapper mapper = wireFormats.mapper(mediaType);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                alunoService.streamAll(aluno -> writeAluno(generator, aluno));
+                generator.writeEndArray();
+            }
+        };
+
+        return ResponseEntity.ok().contentType(mediaType).varyBy(HttpHeaders.ACCEPT).body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Aluno> findId(@PathVariable Long id) {
-        return ResponseEntity.ok(alunoService.findById(id));
+    public ResponseEntity<Aluno> findId(@PathVariable Long id, @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Aluno aluno = alunoService.findById(id);
+        MediaType mediaType = wireFormats.negotiate(accept);
+        return represent(ResponseEntity.ok(), mediaType).eTag(ETags.of(aluno, mediaType)).body(aluno);
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<AlunoView> findId(@PathVariable Long id, @RequestParam String fields,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        AlunoView aluno = alunoService.findById(id, AlunoFields.parse(fields));
+        MediaType mediaType = wireFormats.negotiate(accept);
+        return represent(ResponseEntity.ok(), mediaType).eTag(ETags.of(aluno, mediaType)).body(aluno);
     }
 
     @PostMapping
-    public ResponseEntity<Aluno> create(@Valid @RequestBody Aluno aluno, HttpServletResponse response) {
+    public ResponseEntity<Aluno> create(@Valid @RequestBody Aluno aluno, HttpServletResponse response,
+                                        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         Aluno alunoSave = alunoService.save(aluno);
         publisher.publishEvent(new ResourceCreatedEvent(this, response, alunoSave.getId()));
-        return ResponseEntity.status(HttpStatus.CREATED).body(alunoSave);
+        MediaType mediaType = wireFormats.negotiate(accept);
+        return represent(ResponseEntity.status(HttpStatus.CREATED), mediaType).eTag(ETags.of(alunoSave, mediaType))
+                .body(alunoSave);
+    }
+
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<List<AlunoBatchResult>> createBatch(InputStream body) throws IOException {
+        int chunkSize = batchProperties.getChunkSize();
+        List<AlunoBatchResult> results = new ArrayList<>();
+        List<Aluno> chunk = new ArrayList<>(chunkSize);
+
+        ObjectReader reader = objectMapper.readerFor(Aluno.class);
+        try (JsonParser parser = reader.getFactory().createParser(body)) {
+            // Itens lidos um a um pelo ObjectReader, que entrega null a um item null para o serviço rejeitá-lo,
+            // tanto no array JSON quanto nas linhas do NDJSON
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                chunk.add(reader.readValue(parser));
+
+                if (chunk.size() == chunkSize) {
+                    results.addAll(alunoBatchService.saveAll(results.size(), chunk));
+                    chunk.clear();
+                }
+                token = parser.nextToken();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            results.addAll(alunoBatchService.saveAll(results.size(), chunk));
+        }
+
+        return ResponseEntity.ok(results);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Aluno> update(@PathVariable Long id, @Valid @RequestBody Aluno aluno) {
-        return ResponseEntity.status(HttpStatus.OK).body(alunoService.update(id, aluno));
+    public ResponseEntity<Aluno> update(@PathVariable Long id, @Valid @RequestBody Aluno aluno,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Aluno alunoUpdated = alunoService.update(id, aluno, ETags.parseVersion(ifMatch));
+        MediaType mediaType = wireFormats.negotiate(accept);
+        return represent(ResponseEntity.status(HttpStatus.OK), mediaType).eTag(ETags.of(alunoUpdated, mediaType))
+                .body(alunoUpdated);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> delete(@PathVariable Long id) {
-        alunoService.delete(id);
+    public ResponseEntity<Object> delete(@PathVariable Long id,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        alunoService.delete(id, ETags.parseVersion(ifMatch));
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Object> deleteAll(@RequestParam List<Long> ids) {
+        if (ids.size() > batchProperties.getMaxDeleteIds()) {
+            throw new AlunoDeleteLimitExceededException();
+        }
+        alunoService.deleteAll(ids);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Fixa o formato negociado para que o ETag calculado aqui seja o da representação enviada. Sem formato
+     * aceitável o {@code Content-Type} fica em aberto e o Spring MVC responde 406.
+     */
+    private static ResponseEntity.BodyBuilder represent(ResponseEntity.BodyBuilder builder, MediaType mediaType) {
+        if (mediaType != null) {
+            builder.contentType(mediaType);
+        }
+        return builder.varyBy(HttpHeaders.ACCEPT);
+    }
+
+    private static ResponseEntity.BodyBuilder page(int size, int pageSize, String nextCursor) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(size > 0 ? HttpStatus.OK : HttpStatus.NO_CONTENT);
+        if (size == pageSize) {
+            builder.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return builder;
+    }
+
+    private void writeAluno(JsonGenerator generator, Aluno aluno) {
+        try {
+            generator.writeObject(aluno);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
 }
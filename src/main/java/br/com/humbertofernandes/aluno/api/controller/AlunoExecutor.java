@@ -0,0 +1,85 @@
+package br.com.humbertofernandes.aluno.api.controller;
+
+import br.com.humbertofernandes.aluno.api.config.ExecutionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Executa o trabalho das requisições de {@link AlunoAsyncController} fora da thread do servlet.
+ * Usa virtual threads quando a JVM oferece {@code Executors.newVirtualThreadPerTaskExecutor()} (JDK 21+);
+ * caso contrário, um pool limitado ao tamanho do pool de conexões. Com a fila cheia a tarefa roda na própria
+ * thread do servlet, o que segura novas requisições no Tomcat em vez de descartá-las.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@ConditionalOnProperty(prefix = "aluno.execution", name = "mode", havingValue = "async")
+class AlunoExecutor implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlunoExecutor.class);
+
+    private final ExecutorService executor;
+
+    AlunoExecutor(ExecutionProperties properties, MeterRegistry registry) {
+        ExecutorService virtual = properties.isVirtualThreads() ? virtualThreadExecutor() : null;
+
+        if (virtual != null) {
+            LOG.info("Executing /aluno requests on virtual threads");
+            this.executor = ExecutorServiceMetrics.monitor(registry, virtual, "aluno.execution");
+        } else {
+            LOG.info("Executing /aluno requests on a bounded pool of {} threads", properties.getPoolSize());
+            this.executor = ExecutorServiceMetrics.monitor(registry, boundedExecutor(properties), "aluno.execution");
+        }
+    }
+
+    <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        return CompletableFuture.supplyAsync(() -> {
+            RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+            RequestContextHolder.setRequestAttributes(attributes);
+            try {
+                return supplier.get();
+            } finally {
+                RequestContextHolder.setRequestAttributes(previous);
+            }
+        }, executor);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            return null;
+        }
+    }
+
+    private static ExecutorService boundedExecutor(ExecutionProperties properties) {
+        return new ThreadPoolExecutor(properties.getPoolSize(), properties.getPoolSize(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("aluno-jdbc-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.humbertofernandes.aluno.api.controller;
+
+import br.com.humbertofernandes.aluno.api.config.PaginationProperties;
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.repository.AlunoReactiveRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Subscription;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static br.com.humbertofernandes.aluno.api.controller.AlunoController.APPLICATION_NDJSON_VALUE;
+
+/**
+ * Leitura de alunos em fluxo, sem bloquear a thread do servlet enquanto o banco responde.
+ * Em NDJSON os alunos são pedidos ao R2DBC em janelas de {@value #WINDOW} e cada janela só é pedida
+ * depois que a anterior foi escrita na resposta, com um único flush por janela. O {@code limit} segue o padrão e
+ * o máximo de {@code aluno.pagination}, como em {@code /aluno}; a próxima página começa em {@code after} igual ao
+ * último id recebido.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@RestController
+@RequestMapping("/v2/aluno")
+public class AlunoReactiveController {
+
+    private static final int WINDOW = 256;
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+
+    private final AlunoReactiveRepository alunoReactiveRepository;
+    private final ObjectMapper objectMapper;
+    private final PaginationProperties paginationProperties;
+
+    public AlunoReactiveController(AlunoReactiveRepository alunoReactiveRepository, ObjectMapper objectMapper,
+                                   PaginationProperties paginationProperties) {
+        this.alunoReactiveRepository = alunoReactiveRepository;
+        this.objectMapper = objectMapper;
+        this.paginationProperties = paginationProperties;
+    }
+
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> ndjson(@RequestParam(required = false) Long after,
+                                                      @RequestParam(required = false) Integer limit) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        find(after, limit).subscribe(new NdjsonSubscriber(emitter, objectMapper));
+
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(emitter);
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<Aluno> events(@RequestParam(required = false) Long after,
+                              @RequestParam(required = false) Integer limit) {
+        return find(after, limit);
+    }
+
+    private Flux<Aluno> find(Long after, Integer limit) {
+        return alunoReactiveRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after,
+                paginationProperties.resolve(limit));
+    }
+
+    private static final class NdjsonSubscriber extends BaseSubscriber<Aluno> {
+
+        private final ResponseBodyEmitter emitter;
+        private final ObjectMapper objectMapper;
+        private final ByteArrayOutputStream window = new ByteArrayOutputStream();
+        private int pending;
+
+        private NdjsonSubscriber(ResponseBodyEmitter emitter, ObjectMapper objectMapper) {
+            this.emitter = emitter;
+            this.objectMapper = objectMapper;
+            emitter.onTimeout(this::dispose);
+            emitter.onError(error -> dispose());
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            requestWindow();
+        }
+
+        @Override
+        protected void hookOnNext(Aluno aluno) {
+            try {
+                objectMapper.writeValue(window, aluno);
+                window.write('\n');
+
+                if (--pending == 0) {
+                    flush();
+                    requestWindow();
+                }
+            } catch (IOException exception) {
+                cancel();
+                emitter.completeWithError(exception);
+            }
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            try {
+                flush();
+                emitter.complete();
+            } catch (IOException exception) {
+                emitter.completeWithError(exception);
+            }
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            emitter.completeWithError(throwable);
+        }
+
+        private void requestWindow() {
+            pending = WINDOW;
+            request(WINDOW);
+        }
+
+        private void flush() throws IOException {
+            if (window.size() > 0) {
+                emitter.send(window.toByteArray(), APPLICATION_NDJSON);
+                window.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.humbertofernandes.aluno.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escolhe, pelo {@code Accept}, o formato das respostas de aluno: o controller o fixa no {@code Content-Type} para
+ * que corpo e ETag sejam da mesma representação, e o {@code GET /aluno/stream}, que não passa pelos conversores do
+ * Spring MVC, usa o {@link ObjectMapper} do formato, o mesmo dos conversores JSON, CBOR e Smile. Sem
+ * {@code Accept} ou com {@code *}{@code /*} a resposta é JSON.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+public class AlunoWireFormats {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    private final Map<MediaType, ObjectMapper> mappers = new LinkedHashMap<>();
+
+    public AlunoWireFormats(ObjectMapper objectMapper, MappingJackson2CborHttpMessageConverter cborConverter,
+                            MappingJackson2SmileHttpMessageConverter smileConverter) {
+        mappers.put(MediaType.APPLICATION_JSON, objectMapper);
+        mappers.put(MediaType.APPLICATION_CBOR, cborConverter.getObjectMapper());
+        mappers.put(APPLICATION_SMILE, smileConverter.getObjectMapper());
+    }
+
+    /**
+     * @return o primeiro formato suportado na ordem de preferência do {@code Accept}, JSON sem {@code Accept} ou
+     * {@code null} se nenhum servir, deixando o 406 para o Spring MVC
+     */
+    MediaType negotiate(String accept) {
+        if (!StringUtils.hasText(accept)) {
+            return MediaType.APPLICATION_JSON;
+        }
+
+        List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException exception) {
+            return null;
+        }
+        MediaType.sortBySpecificityAndQuality(acceptable);
+        for (MediaType mediaType : acceptable) {
+            for (MediaType supported : mappers.keySet()) {
+                if (mediaType.getQualityValue() > 0 && mediaType.isCompatibleWith(supported)) {
+                    return supported;
+                }
+            }
+        }
+        return null;
+    }
+
+    ObjectMapper mapper(MediaType mediaType) {
+        return mappers.get(mediaType);
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.humbertofernandes.aluno.api.controller;
+
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.model.AlunoView;
+import br.com.humbertofernandes.aluno.api.service.exception.AlunoVersionMismatchException;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+final class ETags {
+
+    private static final String ANY = "*";
+    private static final char FORMAT_SEPARATOR = '-';
+    private static final String JACKSON_SUBTYPE_PREFIX = "x-jackson-";
+
+    private ETags() {
+    }
+
+    static String of(Aluno aluno, MediaType mediaType) {
+        return quote(String.valueOf(versionOf(aluno)), mediaType);
+    }
+
+    static String of(AlunoView aluno, MediaType mediaType) {
+        return quote(String.valueOf(versionOf(aluno.getVersao())), mediaType);
+    }
+
+    /**
+     * MD5 dos pares (id, versão), como o {@code ShallowEtagHeaderFilter} faz com o corpo: um hash de 64 bits
+     * somado elemento a elemento colide com facilidade e devolveria 304 para uma página que mudou.
+     */
+    static String of(List<Aluno> alunos, MediaType mediaType) {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 2 * alunos.size());
+        for (Aluno aluno : alunos) {
+            buffer.putLong(aluno.getId()).putLong(versionOf(aluno));
+        }
+        return quote(DigestUtils.md5DigestAsHex(buffer.array()), mediaType);
+    }
+
+    /**
+     * Inclui os campos pedidos no digest, já que cada combinação de {@code fields} é uma representação diferente.
+     */
+    static String ofViews(List<AlunoView> alunos, Set<AlunoView.Field> fields, MediaType mediaType) {
+        int projection = 0;
+        for (AlunoView.Field field : fields) {
+            projection |= 1 << field.ordinal();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + Long.BYTES * 2 * alunos.size()).putInt(projection);
+        for (AlunoView aluno : alunos) {
+            buffer.putLong(aluno.getId()).putLong(versionOf(aluno.getVersao()));
+        }
+        return quote(DigestUtils.md5DigestAsHex(buffer.array()), mediaType);
+    }
+
+    /**
+     * Lê a versão de um ETag de aluno, ignorando o sufixo do formato binário: o {@code If-Match} compara a versão,
+     * qualquer que seja a representação em que o cliente a recebeu.
+     */
+    static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+
+        String etag = ifMatch.trim();
+        if (etag.length() < 2 || etag.charAt(0) != '"' || etag.charAt(etag.length() - 1) != '"') {
+            throw new AlunoVersionMismatchException();
+        }
+
+        String value = etag.substring(1, etag.length() - 1);
+        int format = value.indexOf(FORMAT_SEPARATOR);
+        try {
+            return Long.valueOf(format < 0 ? value : value.substring(0, format));
+        } catch (NumberFormatException exception) {
+            throw new AlunoVersionMismatchException();
+        }
+    }
+
+    private static long versionOf(Aluno aluno) {
+        return versionOf(aluno.getVersao());
+    }
+
+    private static long versionOf(Long versao) {
+        return versao == null ? 0L : versao;
+    }
+
+    /**
+     * JSON fica sem sufixo, como antes dos formatos binários; CBOR e Smile recebem {@code -cbor} e {@code -smile},
+     * porque um ETag forte vale para uma única representação e o {@code If-None-Match} de um não pode casar com
+     * o corpo do outro.
+     */
+    private static String quote(String value, MediaType mediaType) {
+        if (mediaType == null || mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_JSON)) {
+            return '"' + value + '"';
+        }
+        return '"' + value + FORMAT_SEPARATOR + mediaType.getSubtype().replace(JACKSON_SUBTYPE_PREFIX, "") + '"';
+    }
+}
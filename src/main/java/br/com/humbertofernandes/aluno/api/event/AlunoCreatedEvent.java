@@ -0,0 +1,20 @@
+package br.com.humbertofernandes.aluno.api.event;
+
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import lombok.Getter;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Getter
+public class AlunoCreatedEvent extends AlunoEvent {
+
+    private static final long serialVersionUID = 4170290561852127533L;
+
+    private final Aluno aluno;
+
+    public AlunoCreatedEvent(Object source, Aluno aluno) {
+        super(source, Type.CREATED, aluno.getId());
+        this.aluno = aluno;
+    }
+}
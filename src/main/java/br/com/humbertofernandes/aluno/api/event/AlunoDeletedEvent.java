@@ -0,0 +1,13 @@
+package br.com.humbertofernandes.aluno.api.event;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public class AlunoDeletedEvent extends AlunoEvent {
+
+    private static final long serialVersionUID = 8937541163024476120L;
+
+    public AlunoDeletedEvent(Object source, Long id) {
+        super(source, Type.DELETED, id);
+    }
+}
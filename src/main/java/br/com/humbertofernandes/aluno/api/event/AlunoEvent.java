@@ -0,0 +1,26 @@
+package br.com.humbertofernandes.aluno.api.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Getter
+public abstract class AlunoEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = -6395925129716374086L;
+
+    private final Type type;
+    private final Long id;
+
+    protected AlunoEvent(Object source, Type type, Long id) {
+        super(source);
+        this.type = type;
+        this.id = id;
+    }
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
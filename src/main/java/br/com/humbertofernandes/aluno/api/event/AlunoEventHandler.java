@@ -0,0 +1,14 @@
+package br.com.humbertofernandes.aluno.api.event;
+
+import java.util.List;
+
+/**
+ * Consumidor de eventos de domínio de {@code Aluno}. É chamado fora da thread da requisição,
+ * em lotes e na ordem de publicação, pelo {@code AlunoEventDispatcher}.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public interface AlunoEventHandler {
+
+    void handle(List<AlunoEvent> events);
+}
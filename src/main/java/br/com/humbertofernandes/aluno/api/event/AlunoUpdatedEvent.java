@@ -0,0 +1,20 @@
+package br.com.humbertofernandes.aluno.api.event;
+
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import lombok.Getter;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Getter
+public class AlunoUpdatedEvent extends AlunoEvent {
+
+    private static final long serialVersionUID = -1296813405981453702L;
+
+    private final Aluno aluno;
+
+    public AlunoUpdatedEvent(Object source, Aluno aluno) {
+        super(source, Type.UPDATED, aluno.getId());
+        this.aluno = aluno;
+    }
+}
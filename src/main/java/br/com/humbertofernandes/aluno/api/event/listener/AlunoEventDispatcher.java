@@ -0,0 +1,156 @@
+package br.com.humbertofernandes.aluno.api.event.listener;
+
+import br.com.humbertofernandes.aluno.api.config.EventProperties;
+import br.com.humbertofernandes.aluno.api.event.AlunoEvent;
+import br.com.humbertofernandes.aluno.api.event.AlunoEventHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Entrega os eventos de domínio aos {@link AlunoEventHandler} em uma thread própria, em lotes,
+ * a partir de uma fila limitada. Eventos publicados dentro de uma transação só entram na fila após o commit.
+ * Os handlers rodam sempre nessa única thread, na ordem de publicação. Com a fila cheia quem publicou espera
+ * uma vaga, em tentativas de {@code aluno.events.offer-timeout} contadas em {@code aluno.events.overflow}: a
+ * requisição fica mais lenta, mas nenhum evento é descartado nem passa à frente dos que já estão na fila. Só
+ * com o dispatcher parado, ou a thread interrompida, o evento é descartado e contado em
+ * {@code aluno.events.dropped}.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+public class AlunoEventDispatcher implements ApplicationListener<AlunoEvent>, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlunoEventDispatcher.class);
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+
+    private final List<AlunoEventHandler> handlers;
+    private final BlockingQueue<AlunoEvent> queue;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+    private final ExecutorService worker;
+    private final Counter published;
+    private final Counter overflow;
+    private final Counter dropped;
+    private final Counter dispatched;
+    private final Timer dispatchTimer;
+
+    private volatile boolean running = true;
+
+    public AlunoEventDispatcher(ObjectProvider<AlunoEventHandler> handlers, EventProperties properties,
+                                MeterRegistry registry) {
+        this.handlers = handlers.orderedStream().collect(toList());
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSize = properties.getBatchSize();
+        this.offerTimeoutNanos = properties.getOfferTimeout().toNanos();
+        this.published = registry.counter("aluno.events.published");
+        this.overflow = registry.counter("aluno.events.overflow");
+        this.dropped = registry.counter("aluno.events.dropped");
+        this.dispatched = registry.counter("aluno.events.dispatched");
+        this.dispatchTimer = registry.timer("aluno.events.dispatch");
+        Gauge.builder("aluno.events.queue.size", queue, BlockingQueue::size).register(registry);
+
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "aluno-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.worker.execute(this::drain);
+    }
+
+    @Override
+    public void onApplicationEvent(AlunoEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        worker.shutdown();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void enqueue(AlunoEvent event) {
+        published.increment();
+
+        try {
+            while (!queue.offer(event, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                overflow.increment();
+                if (!running) {
+                    drop(event, "dispatcher is stopped");
+                    return;
+                }
+                LOG.warn("Event queue is full, waiting to enqueue {} event of aluno {}", event.getType(), event.getId());
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            drop(event, "publishing thread was interrupted");
+        }
+    }
+
+    private void drop(AlunoEvent event, String reason) {
+        dropped.increment();
+        LOG.error("Dropped {} event of aluno {}: {}", event.getType(), event.getId(), reason);
+    }
+
+    private void drain() {
+        List<AlunoEvent> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                AlunoEvent first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    dispatch(batch);
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<AlunoEvent> events) {
+        dispatchTimer.record(() -> {
+            for (AlunoEventHandler handler : handlers) {
+                try {
+                    handler.handle(events);
+                } catch (RuntimeException exception) {
+                    LOG.error("Handler {} failed to process {} events", handler.getClass().getSimpleName(), events.size(), exception);
+                }
+            }
+        });
+        dispatched.increment(events.size());
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.humbertofernandes.aluno.api.event.listener;
+
+import br.com.humbertofernandes.aluno.api.event.AlunoCreatedEvent;
+import br.com.humbertofernandes.aluno.api.event.AlunoEvent;
+import br.com.humbertofernandes.aluno.api.event.AlunoUpdatedEvent;
+import br.com.humbertofernandes.aluno.api.repository.AlunoOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+
+/**
+ * Grava cada evento de aluno na tabela {@code aluno_outbox}. Roda na thread de quem publicou o evento,
+ * portanto dentro da mesma transação que alterou o aluno: se ela sofrer rollback, a linha também some.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@ConditionalOnProperty(prefix = "aluno.outbox", name = "enabled", matchIfMissing = true)
+public class AlunoOutboxWriter implements ApplicationListener<AlunoEvent> {
+
+    private final AlunoOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public AlunoOutboxWriter(AlunoOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void onApplicationEvent(AlunoEvent event) {
+        outboxRepository.append(event.getId(), event.getType().name(), payload(event));
+    }
+
+    private String payload(AlunoEvent event) {
+        Object payload;
+        if (event instanceof AlunoCreatedEvent) {
+            payload = ((AlunoCreatedEvent) event).getAluno();
+        } else if (event instanceof AlunoUpdatedEvent) {
+            payload = ((AlunoUpdatedEvent) event).getAluno();
+        } else {
+            payload = Collections.singletonMap("id", event.getId());
+        }
+
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Could not serialize " + event.getType() + " event of aluno " + event.getId(), exception);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package br.com.humbertofernandes.aluno.api.filter;
+
+import br.com.humbertofernandes.aluno.api.config.RateLimitProperties;
+import br.com.humbertofernandes.aluno.api.handle.ApiExceptionHandler;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Protege {@code /aluno} e {@code /v2/aluno} antes que a requisição chegue ao {@code AlunoService}:
+ * <ul>
+ *     <li>um balde de fichas por cliente, que responde 429 com {@code Retry-After} até a próxima ficha. O cliente
+ *     é o IP de origem; o cabeçalho {@code aluno.rate-limit.client-header} só vale quando a requisição chega por um
+ *     dos {@code aluno.rate-limit.trusted-proxies}, que é quem o preenche;</li>
+ *     <li>um limite global de requisições em andamento, que descarta o excedente com 503 em vez de deixá-lo
+ *     esperando por uma conexão do pool.</li>
+ * </ul>
+ * Os baldes ficam em um cache Caffeine, que já é particionado internamente, e expiram quando o cliente some.
+ * Requisições assíncronas só devolvem a vaga quando terminam de fato.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "aluno.rate-limit", name = "enabled", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String TOO_MANY_REQUESTS = "generic-3";
+    static final String OVERLOADED = "generic-4";
+
+    private static final String[] PATHS = {"/aluno", "/v2/aluno"};
+    private static final String REJECTED_METRIC = "aluno.ratelimit.rejected";
+
+    private final RateLimitProperties properties;
+    private final ApiExceptionHandler apiExceptionHandler;
+    private final LongSupplier clock;
+    private final Cache<String, TokenBucket> buckets;
+    private final Semaphore inFlight;
+    private final Counter rejectedByClient;
+    private final Counter rejectedByOverload;
+
+    @Autowired
+    public RateLimitFilter(RateLimitProperties properties, ApiExceptionHandler apiExceptionHandler,
+                           MeterRegistry registry) {
+        this(properties, apiExceptionHandler, registry, System::nanoTime);
+    }
+
+    RateLimitFilter(RateLimitProperties properties, ApiExceptionHandler apiExceptionHandler,
+                    MeterRegistry registry, LongSupplier clock) {
+        this.properties = properties;
+        this.apiExceptionHandler = apiExceptionHandler;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getClientIdleTimeout())
+                .build();
+        this.inFlight = new Semaphore(properties.getMaxConcurrent());
+        this.rejectedByClient = registry.counter(REJECTED_METRIC, "reason", "client");
+        this.rejectedByOverload = registry.counter(REJECTED_METRIC, "reason", "overload");
+
+        int maxConcurrent = properties.getMaxConcurrent();
+        Gauge.builder("aluno.ratelimit.inflight", inFlight, semaphore -> maxConcurrent - semaphore.availablePermits())
+                .register(registry);
+        Gauge.builder("aluno.ratelimit.clients", buckets, Cache::estimatedSize).register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String prefix : PATHS) {
+            if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = clock.getAsLong();
+        long wait = buckets.get(clientKey(request),
+                key -> new TokenBucket(properties.getCapacity(), properties.getRefillPerSecond(), now)).tryAcquire(now);
+        if (wait > 0) {
+            rejectedByClient.increment();
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, TOO_MANY_REQUESTS, wait);
+            return;
+        }
+
+        if (!inFlight.tryAcquire()) {
+            rejectedByOverload.increment();
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, OVERLOADED,
+                    properties.getOverloadRetryAfter().toNanos());
+            return;
+        }
+
+        Release release = new Release(inFlight);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(release);
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!properties.getTrustedProxies().contains(remoteAddr)) {
+            return remoteAddr;
+        }
+        String client = request.getHeader(properties.getClientHeader());
+        return StringUtils.hasText(client) ? client : remoteAddr;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String code,
+                        long retryAfterNanos) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(
+                retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1))));
+        byte[] body = apiExceptionHandler.toErrorResponseBytes(status, code, request.getLocale());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Devolve a vaga uma única vez, ao fim da requisição síncrona ou do processamento assíncrono.
+     */
+    private static final class Release implements Runnable, AsyncListener {
+
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Release(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void run() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.humbertofernandes.aluno.api.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de fichas sem lock no formato GCRA: o estado é um único instante, o momento teórico em que o balde estaria
+ * cheio de novo, atualizado por compare-and-set. Cada requisição empurra esse instante em um intervalo de reposição
+ * e é aceita enquanto ele não passar de {@code capacity} intervalos à frente de agora.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.intervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = intervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return zero se a ficha foi consumida; senão, quantos nanossegundos até haver uma ficha
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = (arrival - nowNanos > 0 ? arrival : nowNanos) + intervalNanos;
+            long wait = next - nowNanos - burstNanos;
+
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.humbertofernandes.aluno.api.handle;
+
+import br.com.humbertofernandes.aluno.api.handle.ErrorResponse.ApiError;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mensagens de {@code api_errors*.properties} já resolvidas por código e locale. Cada locale é montado uma vez,
+ * pelo próprio {@link MessageSource} para manter as mesmas regras de fallback, e depois não muda: uma mensagem sem
+ * argumentos não passa mais pelo {@code MessageSource}, as com argumentos usam um {@link MessageFormat} já
+ * compilado e o {@link ErrorResponse} serializado de cada código fica guardado por status.
+ * <p>
+ * Só os primeiros {@value #MAX_LOCALES} locales distintos são guardados, já que o locale vem do
+ * {@code Accept-Language} do cliente; os demais são resolvidos código a código. Um código sem mensagem é logado
+ * no máximo uma vez por minuto.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public class ApiErrorCatalog {
+
+    static final String NO_MESSAGE_AVAILABLE = "No message available";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ApiErrorCatalog.class);
+    private static final int MAX_LOCALES = 32;
+    private static final Duration MISSING_LOG_INTERVAL = Duration.ofMinutes(1);
+
+    private final MessageSource messageSource;
+    private final ObjectMapper objectMapper;
+    private final Set<String> codes;
+    private final Map<Locale, Map<String, Message>> byLocale = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> missingLogged = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(MISSING_LOG_INTERVAL)
+            .build();
+
+    public ApiErrorCatalog(MessageSource messageSource, String basename, ObjectMapper objectMapper) {
+        this.messageSource = messageSource;
+        this.objectMapper = objectMapper;
+        try {
+            this.codes = Collections.unmodifiableSet(PropertiesLoaderUtils
+                    .loadProperties(new ClassPathResource(basename + ".properties")).stringPropertyNames());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    ApiError apiError(String code, Locale locale, Object... args) {
+        Message message = find(code, locale);
+        return message == null ? new ApiError(code, NO_MESSAGE_AVAILABLE) : message.apiError(args);
+    }
+
+    /**
+     * {@link ErrorResponse} de um único erro sem argumentos, já em JSON.
+     */
+    byte[] errorResponse(HttpStatus status, String code, Locale locale) {
+        Message message = find(code, locale);
+        if (message == null) {
+            return serialize(ErrorResponse.of(status, new ApiError(code, NO_MESSAGE_AVAILABLE)));
+        }
+        return message.json.computeIfAbsent(status, key -> serialize(ErrorResponse.of(key, message.apiError)));
+    }
+
+    private Message find(String code, Locale locale) {
+        Locale resolved = locale != null ? locale : Locale.getDefault();
+        Map<String, Message> messages = byLocale.get(resolved);
+        if (messages == null && byLocale.size() < MAX_LOCALES) {
+            messages = byLocale.computeIfAbsent(resolved, this::load);
+        }
+
+        Message message = messages != null ? messages.get(code) : null;
+        if (message == null) {
+            message = resolve(code, resolved);
+        }
+        if (message == null && missingLogged.asMap().putIfAbsent(code + '@' + resolved, Boolean.TRUE) == null) {
+            LOG.error("Could not find any message for {} code under {} locale", code, resolved);
+        }
+        return message;
+    }
+
+    private Map<String, Message> load(Locale locale) {
+        Map<String, Message> messages = new HashMap<>(codes.size() * 2);
+        for (String code : codes) {
+            Message message = resolve(code, locale);
+            if (message != null) {
+                messages.put(code, message);
+            }
+        }
+        return Collections.unmodifiableMap(messages);
+    }
+
+    private Message resolve(String code, Locale locale) {
+        String pattern = messageSource.getMessage(code, null, null, locale);
+        return pattern == null ? null : new Message(code, pattern, locale);
+    }
+
+    private byte[] serialize(ErrorResponse errorResponse) {
+        try {
+            return objectMapper.writeValueAsBytes(errorResponse);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static final class Message {
+
+        private final String code;
+        private final ApiError apiError;
+        private final MessageFormat format;
+        private final Map<HttpStatus, byte[]> json = new ConcurrentHashMap<>(2);
+
+        private Message(String code, String pattern, Locale locale) {
+            this.code = code;
+            this.apiError = new ApiError(code, pattern);
+            this.format = new MessageFormat(pattern, locale);
+        }
+
+        private ApiError apiError(Object[] args) {
+            if (args == null || args.length == 0) {
+                return apiError;
+            }
+            return new ApiError(code, ((MessageFormat) format.clone()).format(args));
+        }
+    }
+}
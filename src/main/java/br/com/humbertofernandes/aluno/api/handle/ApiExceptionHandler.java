@@ -4,14 +4,13 @@ import br.com.humbertofernandes.aluno.api.handle.ErrorResponse.ApiError;
 import br.com.humbertofernandes.aluno.api.service.exception.BusinessException;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.context.MessageSource;
-import org.springframework.context.NoSuchMessageException;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -20,11 +19,15 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 
 /**
+ * Respostas de erro com um único código sem argumentos saem já serializadas do {@link ApiErrorCatalog}.
+ *
  * @author Humberto Tadeu de Paiva Gomes Fernandes
  */
 @Order(Ordered.HIGHEST_PRECEDENCE)
@@ -32,13 +35,19 @@ import static java.util.stream.Collectors.toList;
 @RequiredArgsConstructor
 public class ApiExceptionHandler {
 
-    private static final Logger LOG = LoggerFactory.getLogger(ApiExceptionHandler.class);
-    private static final String NO_MESSAGE_AVAILABLE = "No message available";
-    private final MessageSource apiErrorMessageSource;
+    private static final String ERRORS_METRIC = "api.errors";
+    private final ApiErrorCatalog apiErrorCatalog;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ErrorResponse> handleNotValidException(MethodArgumentNotValidException exception, Locale locale) {
-        Stream<ObjectError> errors = exception.getBindingResult().getAllErrors().stream();
+    public ResponseEntity<?> handleNotValidException(MethodArgumentNotValidException exception, Locale locale) {
+        List<ObjectError> allErrors = exception.getBindingResult().getAllErrors();
+        if (allErrors.size() == 1) {
+            return toResponseEntity(HttpStatus.BAD_REQUEST, allErrors.get(0).getDefaultMessage(), locale);
+        }
+
+        Stream<ObjectError> errors = allErrors.stream();
 
         List<ApiError> apiErrors = errors.map(ObjectError::getDefaultMessage)
                 .map(code -> toApiError(code, locale))
@@ -57,32 +66,36 @@ public class ApiExceptionHandler {
     }
 
     @ExceptionHandler(JsonParseException.class)
-    public ResponseEntity<ErrorResponse> handlerJsonParseException(JsonParseException exception, Locale locale) {
+    public ResponseEntity<byte[]> handlerJsonParseException(JsonParseException exception, Locale locale) {
         final String errorCode = "generic-2";
-        final HttpStatus status = HttpStatus.BAD_REQUEST;
-        final ErrorResponse errorResponse = ErrorResponse.of(status, toApiError(errorCode, locale));
-        return ResponseEntity.badRequest().body(errorResponse);
+        return toResponseEntity(HttpStatus.BAD_REQUEST, errorCode, locale);
     }
 
     @ExceptionHandler(BusinessException.class)
-    public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException exception, Locale locale) {
-        final String errorCode = exception.getCode();
-        final HttpStatus status = exception.getStatus();
-        final ErrorResponse errorResponse = ErrorResponse.of(status, toApiError(errorCode, locale));
+    public ResponseEntity<byte[]> handleBusinessException(BusinessException exception, Locale locale) {
+        return toResponseEntity(exception.getStatus(), exception.getCode(), locale);
+    }
 
-        return ResponseEntity.status(status.value()).body(errorResponse);
+    /**
+     * Corpo de erro em JSON para quem responde fora do {@code DispatcherServlet}, como os filtros.
+     */
+    public byte[] toErrorResponseBytes(HttpStatus status, String code, Locale locale) {
+        count(code);
+        return apiErrorCatalog.errorResponse(status, code, locale);
     }
 
     public ApiError toApiError(String code, Locale locale, Object... args) {
-        String message;
+        count(code);
+        return apiErrorCatalog.apiError(code, locale, args);
+    }
 
-        try {
-            message = apiErrorMessageSource.getMessage(code, args, locale);
-        } catch (NoSuchMessageException exception) {
-            LOG.error("Could not find any message for {} code under {} locale", code, locale);
-            message = NO_MESSAGE_AVAILABLE;
-        }
+    private ResponseEntity<byte[]> toResponseEntity(HttpStatus status, String code, Locale locale) {
+        return ResponseEntity.status(status.value())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(toErrorResponseBytes(status, code, locale));
+    }
 
-        return new ApiError(code, message);
+    private void count(String code) {
+        errorCounters.computeIfAbsent(code, key -> meterRegistry.counter(ERRORS_METRIC, "code", key)).increment();
     }
 }
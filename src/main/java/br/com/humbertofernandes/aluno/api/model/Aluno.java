@@ -9,7 +9,10 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -18,11 +21,14 @@ import javax.validation.constraints.NotNull;
  * @author Humberto Tadeu de Paiva Gomes Fernandes
  */
 @Entity
-@Table(name = "aluno")
+@Table(name = "aluno", uniqueConstraints = @UniqueConstraint(name = Aluno.UNIQUE_NOME, columnNames = "nome"),
+        indexes = @Index(name = "idx_aluno_idade", columnList = "idade, id"))
 @Data
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Aluno {
 
+    public static final String UNIQUE_NOME = "uk_aluno_nome";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @EqualsAndHashCode.Include
@@ -30,7 +36,7 @@ public class Aluno {
     private Long id;
 
     @NotBlank(message = "aluno-1")
-    @Column(name = "nome", nullable = false, unique = true)
+    @Column(name = "nome", nullable = false)
     private String nome;
 
     @NotNull(message = "aluno-2")
@@ -38,6 +44,11 @@ public class Aluno {
     @Column(name = "idade", nullable = false)
     private Integer idade;
 
+    @JsonIgnore
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     @JsonIgnore
     public boolean isNew() {
         return getId() == null;
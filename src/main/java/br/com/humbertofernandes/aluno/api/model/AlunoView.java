@@ -0,0 +1,53 @@
+package br.com.humbertofernandes.aluno.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Projeção somente leitura de {@link Aluno} com os campos pedidos em {@code ?fields=}. Não é uma entidade: vem de
+ * consultas que selecionam apenas as colunas pedidas, sem passar pelo contexto de persistência. O id e a versão
+ * são sempre lidos, para o cursor de paginação e o ETag. Nas listagens ordenadas por nome ou idade a coluna da
+ * ordenação também é lida, para o cursor, mas fica fora da resposta se não estiver em {@code fields}.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Getter
+@RequiredArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AlunoView {
+
+    private final Long id;
+    private final String nome;
+    private final Integer idade;
+
+    @JsonIgnore
+    private final Long versao;
+
+    @JsonIgnore
+    private final Object sortValue;
+
+    public AlunoView(Long id, String nome, Integer idade, Long versao) {
+        this(id, nome, idade, versao, null);
+    }
+
+    public static AlunoView of(Aluno aluno, Set<Field> fields) {
+        return new AlunoView(aluno.getId(),
+                fields.contains(Field.NOME) ? aluno.getNome() : null,
+                fields.contains(Field.IDADE) ? aluno.getIdade() : null,
+                aluno.getVersao());
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Field {
+        ID("id"),
+        NOME("nome"),
+        IDADE("idade");
+
+        private final String property;
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.humbertofernandes.aluno.api.model;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Linha da tabela {@code aluno_outbox}: uma alteração de aluno ainda não entregue ao sistema externo.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Getter
+@RequiredArgsConstructor
+public class OutboxMessage {
+
+    private final Long id;
+    private final Long alunoId;
+    private final String tipo;
+    @JsonRawValue
+    private final String payload;
+    private final Instant criadoEm;
+}
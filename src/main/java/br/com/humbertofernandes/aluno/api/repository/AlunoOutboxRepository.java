@@ -0,0 +1,48 @@
+package br.com.humbertofernandes.aluno.api.repository;
+
+import br.com.humbertofernandes.aluno.api.model.OutboxMessage;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Repository
+public class AlunoOutboxRepository {
+
+    private static final String INSERT = "INSERT INTO aluno_outbox (aluno_id, tipo, payload, criado_em) VALUES (?, ?, ?, ?)";
+    private static final String SELECT = "SELECT id, aluno_id, tipo, payload, criado_em FROM aluno_outbox ORDER BY id LIMIT ?";
+    private static final String DELETE = "DELETE FROM aluno_outbox WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AlunoOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void append(Long alunoId, String tipo, String payload) {
+        jdbcTemplate.update(INSERT, alunoId, tipo, payload, Timestamp.from(Instant.now()));
+    }
+
+    public List<OutboxMessage> findFirst(int limit) {
+        return jdbcTemplate.query(SELECT, (rs, rowNum) -> new OutboxMessage(
+                rs.getLong("id"),
+                rs.getLong("aluno_id"),
+                rs.getString("tipo"),
+                rs.getString("payload"),
+                rs.getTimestamp("criado_em").toInstant()), limit);
+    }
+
+    public void deleteAll(List<OutboxMessage> messages) {
+        jdbcTemplate.batchUpdate(DELETE, messages, messages.size(),
+                (ps, message) -> ps.setLong(1, message.getId()));
+    }
+
+    public long count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM aluno_outbox", Long.class);
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.humbertofernandes.aluno.api.repository;
+
+import br.com.humbertofernandes.aluno.api.config.ReactiveDataSourceProperties;
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Leitura não bloqueante da tabela {@code aluno} via R2DBC, sobre o mesmo schema usado pelo {@link AlunoRepository}.
+ * O pool de conexões R2DBC pertence a este repositório e não é exposto como bean: um {@code ConnectionFactory}
+ * no contexto faria o Spring Boot desistir do {@code DataSource} JDBC usado pelo JPA.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Repository
+public class AlunoReactiveRepository implements DisposableBean {
+
+    private static final String SELECT = "SELECT id, nome, idade, versao FROM aluno WHERE id > :after ORDER BY id LIMIT :limit";
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public AlunoReactiveRepository(ReactiveDataSourceProperties properties) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate()
+                .option(ConnectionFactoryOptions.USER, properties.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.getPassword())
+                .build();
+
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(properties.getMaxSize())
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    public Flux<Aluno> findByIdGreaterThanOrderByIdAsc(long after, int limit) {
+        return databaseClient.execute(SELECT)
+                .bind("after", after)
+                .bind("limit", limit)
+                .map((row, metadata) -> toAluno(row))
+                .all();
+    }
+
+    /**
+     * Fecha o pool ignorando falhas de requisições ainda em andamento no desligamento, que já não têm a quem
+     * responder.
+     */
+    @Override
+    public void destroy() {
+        connectionPool.disposeLater().onErrorResume(e -> Mono.empty()).block(SHUTDOWN_TIMEOUT);
+    }
+
+    private static Aluno toAluno(Row row) {
+        Aluno aluno = new Aluno();
+        aluno.setId(row.get("id", Long.class));
+        aluno.setNome(row.get("nome", String.class));
+        aluno.setIdade(row.get("idade", Integer.class));
+        aluno.setVersao(row.get("versao", Long.class));
+        return aluno;
+    }
+}
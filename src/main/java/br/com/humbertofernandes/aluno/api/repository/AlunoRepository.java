@@ -1,14 +1,58 @@
 package br.com.humbertofernandes.aluno.api.repository;
 
 import br.com.humbertofernandes.aluno.api.model.Aluno;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * @author Humberto Tadeu de Paiva Gomes Fernandes
  */
-public interface AlunoRepository extends JpaRepository<Aluno, Long> {
+public interface AlunoRepository extends JpaRepository<Aluno, Long>, AlunoRepositoryCustom {
 
     Optional<Aluno> findByNome(String nome);
+
+    List<Aluno> findByNomeIn(Collection<String> nomes);
+
+    List<Aluno> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("select a.versao from Aluno a where a.id = :id")
+    Optional<Long> findVersaoById(@Param("id") Long id);
+
+    @Query("select a.id from Aluno a where a.id in :ids")
+    List<Long> findIdByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("update Aluno a set a.nome = :nome, a.idade = :idade, a.versao = a.versao + 1 where a.id = :id")
+    int updateById(@Param("id") Long id, @Param("nome") String nome, @Param("idade") Integer idade);
+
+    @Transactional
+    @Modifying
+    @Query("update Aluno a set a.nome = :nome, a.idade = :idade, a.versao = a.versao + 1 "
+            + "where a.id = :id and a.versao = :versao")
+    int updateByIdAndVersao(@Param("id") Long id, @Param("versao") Long versao,
+                            @Param("nome") String nome, @Param("idade") Integer idade);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Aluno a where a.id = :id")
+    int deleteAlunoById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Aluno a where a.id = :id and a.versao = :versao")
+    int deleteAlunoByIdAndVersao(@Param("id") Long id, @Param("versao") Long versao);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Aluno a where a.id in :ids")
+    int deleteAlunoByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,39 @@
+package br.com.humbertofernandes.aluno.api.repository;
+
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.model.AlunoView;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public interface AlunoRepositoryCustom {
+
+    void streamAll(Consumer<Aluno> action);
+
+    void insertAll(List<Aluno> alunos);
+
+    /**
+     * Como {@code JpaSpecificationExecutor#findAll(Specification, Pageable)}, mas sem a consulta de contagem.
+     */
+    @Transactional(readOnly = true)
+    List<Aluno> findAll(Specification<Aluno> specification, Sort sort, int limit);
+
+    /**
+     * Seleciona apenas id, versão, as colunas de {@code fields} e, se a ordenação não for por id, a da primeira
+     * chave de {@code sort}, que vai só em {@link AlunoView#getSortValue()}; o resultado não é gerenciado pelo
+     * Hibernate.
+     */
+    @Transactional(readOnly = true)
+    List<AlunoView> findAll(Specification<Aluno> specification, Sort sort, int limit, Set<AlunoView.Field> fields);
+
+    @Transactional(readOnly = true)
+    Optional<AlunoView> findViewById(Long id, Set<AlunoView.Field> fields);
+}
@@ -0,0 +1,141 @@
+package br.com.humbertofernandes.aluno.api.repository;
+
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.model.AlunoView;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public class AlunoRepositoryCustomImpl implements AlunoRepositoryCustom {
+
+    private static final int FETCH_SIZE = 500;
+    private static final String INSERT = "INSERT INTO aluno (nome, idade, versao) VALUES (?, ?, 0)";
+    private static final String SORT_VALUE = "sortValue";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AlunoRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void streamAll(Consumer<Aluno> action) {
+        try (Stream<Aluno> alunos = entityManager.createQuery("select a from Aluno a order by a.id", Aluno.class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()) {
+            alunos.forEach(aluno -> {
+                action.accept(aluno);
+                entityManager.detach(aluno);
+            });
+        }
+    }
+
+    @Override
+    public void insertAll(List<Aluno> alunos) {
+        jdbcTemplate.batchUpdate(INSERT, alunos, alunos.size(), (statement, aluno) -> {
+            statement.setString(1, aluno.getNome());
+            statement.setInt(2, aluno.getIdade());
+        });
+    }
+
+    @Override
+    public List<Aluno> findAll(Specification<Aluno> specification, Sort sort, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Aluno> query = builder.createQuery(Aluno.class);
+        Root<Aluno> root = query.from(Aluno.class);
+
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        return entityManager.createQuery(query)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<AlunoView> findAll(Specification<Aluno> specification, Sort sort, int limit, Set<AlunoView.Field> fields) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Aluno> root = query.from(Aluno.class);
+
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        List<Selection<?>> selection = selection(root, fields);
+        String sortProperty = sort.stream().findFirst().map(Sort.Order::getProperty)
+                .filter(property -> !"id".equals(property))
+                .orElse(null);
+        if (sortProperty != null) {
+            selection.add(root.get(sortProperty).alias(SORT_VALUE));
+        }
+        query.multiselect(selection).orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        List<Tuple> tuples = entityManager.createQuery(query).setMaxResults(limit).getResultList();
+        List<AlunoView> views = new ArrayList<>(tuples.size());
+        tuples.forEach(tuple -> views.add(toView(tuple, fields, sortProperty == null ? null : tuple.get(SORT_VALUE))));
+        return views;
+    }
+
+    @Override
+    public Optional<AlunoView> findViewById(Long id, Set<AlunoView.Field> fields) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Aluno> root = query.from(Aluno.class);
+
+        query.multiselect(selection(root, fields)).where(builder.equal(root.get("id"), id));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .findFirst()
+                .map(tuple -> toView(tuple, fields, null));
+    }
+
+    private static List<Selection<?>> selection(Root<Aluno> root, Set<AlunoView.Field> fields) {
+        List<Selection<?>> selection = new ArrayList<>(4);
+        selection.add(root.get("id").alias("id"));
+        selection.add(root.get("versao").alias("versao"));
+        if (fields.contains(AlunoView.Field.NOME)) {
+            selection.add(root.get("nome").alias("nome"));
+        }
+        if (fields.contains(AlunoView.Field.IDADE)) {
+            selection.add(root.get("idade").alias("idade"));
+        }
+        return selection;
+    }
+
+    private static AlunoView toView(Tuple tuple, Set<AlunoView.Field> fields, Object sortValue) {
+        return new AlunoView(tuple.get("id", Long.class),
+                fields.contains(AlunoView.Field.NOME) ? tuple.get("nome", String.class) : null,
+                fields.contains(AlunoView.Field.IDADE) ? tuple.get("idade", Integer.class) : null,
+                tuple.get("versao", Long.class),
+                sortValue);
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.humbertofernandes.aluno.api.repository;
+
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+/**
+ * Predicados de {@code GET /aluno}. O filtro por nome é um prefixo sensível a maiúsculas ({@code like 'x%'}) para
+ * que o banco use o índice de nome; {@code lower(nome)} obrigaria a ler a tabela inteira.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public final class AlunoSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private AlunoSpecifications() {
+    }
+
+    public static Specification<Aluno> nomeStartsWith(String prefix) {
+        return (root, query, builder) -> prefix == null
+                ? null
+                : builder.like(root.get("nome"), escapeLike(prefix) + "%", ESCAPE);
+    }
+
+    public static Specification<Aluno> idadeGreaterThanOrEqualTo(Integer idade) {
+        return (root, query, builder) -> idade == null ? null : builder.greaterThanOrEqualTo(root.get("idade"), idade);
+    }
+
+    public static Specification<Aluno> idadeLessThanOrEqualTo(Integer idade) {
+        return (root, query, builder) -> idade == null ? null : builder.lessThanOrEqualTo(root.get("idade"), idade);
+    }
+
+    /**
+     * Paginação por cursor sobre {@code (property, id)}: linhas que vêm depois de {@code cursor} na ordenação
+     * {@code property direction, id direction}. A condição redundante {@code property >= valor} vem na frente
+     * para que o banco percorra só a faixa do índice a partir do cursor; com apenas o {@code or} ele lê o índice
+     * inteiro.
+     */
+    public static Specification<Aluno> after(String property, Sort.Direction direction, Aluno cursor) {
+        return (root, query, builder) -> {
+            if (cursor == null) {
+                return null;
+            }
+            switch (property) {
+                case "id":
+                    return compare(builder, root.get("id"), cursor.getId(), direction);
+                case "nome":
+                    return after(root, builder, root.get("nome"), cursor.getNome(), cursor.getId(), direction);
+                case "idade":
+                    return after(root, builder, root.get("idade"), cursor.getIdade(), cursor.getId(), direction);
+                default:
+                    throw new IllegalArgumentException("No cursor for property " + property);
+            }
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Predicate after(Root<Aluno> root, CriteriaBuilder builder,
+                                                                     Expression<T> key, T value, Long id,
+                                                                     Sort.Direction direction) {
+        Predicate range = direction.isAscending()
+                ? builder.greaterThanOrEqualTo(key, value)
+                : builder.lessThanOrEqualTo(key, value);
+        return builder.and(range, builder.or(compare(builder, key, value, direction),
+                compare(builder, root.get("id"), id, direction)));
+    }
+
+    private static <T extends Comparable<? super T>> Predicate compare(CriteriaBuilder builder, Expression<T> key,
+                                                                       T value, Sort.Direction direction) {
+        return direction.isAscending() ? builder.greaterThan(key, value) : builder.lessThan(key, value);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
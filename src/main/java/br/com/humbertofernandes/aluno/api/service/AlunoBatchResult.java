@@ -0,0 +1,35 @@
+package br.com.humbertofernandes.aluno.api.service;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@JsonAutoDetect(fieldVisibility = ANY)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RequiredArgsConstructor(access = PRIVATE)
+@Getter
+public class AlunoBatchResult {
+
+    private final int index;
+    private final int statusCode;
+    private final Long id;
+    private final List<String> errors;
+
+    static AlunoBatchResult created(int index, Long id) {
+        return new AlunoBatchResult(index, HttpStatus.CREATED.value(), id, null);
+    }
+
+    static AlunoBatchResult rejected(int index, List<String> errors) {
+        return new AlunoBatchResult(index, HttpStatus.BAD_REQUEST.value(), null, errors);
+    }
+}
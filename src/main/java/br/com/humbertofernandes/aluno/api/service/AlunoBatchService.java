@@ -0,0 +1,135 @@
+package br.com.humbertofernandes.aluno.api.service;
+
+import br.com.humbertofernandes.aluno.api.event.AlunoCreatedEvent;
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.repository.AlunoRepository;
+import br.com.humbertofernandes.aluno.api.service.cache.AlunoCache;
+import br.com.humbertofernandes.aluno.api.service.exception.AlunoAlreadyExistsException;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Grava cada lote em uma transação. Se outra requisição inserir um dos nomes entre a verificação e o insert, o
+ * lote é desfeito e refeito item a item, cada um em sua transação, para que só os itens em conflito sejam
+ * rejeitados.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Service
+public class AlunoBatchService {
+
+    private static final String METRIC = "aluno.service";
+
+    static final String MISSING_ALUNO = "aluno-9";
+
+    private static final List<String> ALREADY_EXISTS = singletonList(AlunoAlreadyExistsException.CODE);
+    private static final List<String> MISSING = singletonList(MISSING_ALUNO);
+
+    private final AlunoRepository alunoRepository;
+    private final Validator validator;
+    private final AlunoCache alunoCache;
+    private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public AlunoBatchService(@Autowired AlunoRepository alunoRepository, @Autowired Validator validator,
+                             @Autowired AlunoCache alunoCache, @Autowired ApplicationEventPublisher publisher,
+                             @Autowired PlatformTransactionManager transactionManager) {
+        this.alunoRepository = alunoRepository;
+        this.validator = validator;
+        this.alunoCache = alunoCache;
+        this.publisher = publisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Timed(METRIC)
+    public List<AlunoBatchResult> saveAll(final int offset, final List<Aluno> alunos) {
+        try {
+            return transactionTemplate.execute(status -> saveChunk(offset, alunos));
+        } catch (AlunoAlreadyExistsException concurrentInsert) {
+            List<AlunoBatchResult> results = new ArrayList<>(alunos.size());
+            for (int i = 0; i < alunos.size(); i++) {
+                results.add(saveOne(offset + i, alunos.get(i)));
+            }
+            return results;
+        }
+    }
+
+    private AlunoBatchResult saveOne(final int index, final Aluno aluno) {
+        try {
+            return transactionTemplate.execute(status -> saveChunk(index, singletonList(aluno))).get(0);
+        } catch (AlunoAlreadyExistsException exception) {
+            return AlunoBatchResult.rejected(index, ALREADY_EXISTS);
+        }
+    }
+
+    private List<AlunoBatchResult> saveChunk(final int offset, final List<Aluno> alunos) {
+        AlunoBatchResult[] results = new AlunoBatchResult[alunos.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+
+        for (int i = 0; i < alunos.size(); i++) {
+            Aluno aluno = alunos.get(i);
+            List<String> errors = aluno == null ? MISSING : validate(aluno);
+
+            if (errors.isEmpty() && candidates.putIfAbsent(aluno.getNome(), i) != null) {
+                errors = ALREADY_EXISTS;
+            }
+            if (!errors.isEmpty()) {
+                results[i] = AlunoBatchResult.rejected(offset + i, errors);
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            for (Aluno existing : alunoRepository.findByNomeIn(candidates.keySet())) {
+                int i = candidates.remove(existing.getNome());
+                results[i] = AlunoBatchResult.rejected(offset + i, ALREADY_EXISTS);
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            insert(candidates.values().stream().map(alunos::get).collect(toList()));
+
+            List<Long> created = new ArrayList<>(candidates.size());
+            for (Aluno saved : alunoRepository.findByNomeIn(candidates.keySet())) {
+                int i = candidates.get(saved.getNome());
+                results[i] = AlunoBatchResult.created(offset + i, saved.getId());
+                created.add(saved.getId());
+                publisher.publishEvent(new AlunoCreatedEvent(this, saved));
+            }
+            // Remoção só depois do commit: um findById entre ela e o commit guardaria o 404 até o negative-ttl
+            AlunoService.afterCommit(() -> created.forEach(alunoCache::evict));
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private void insert(List<Aluno> alunos) {
+        try {
+            alunoRepository.insertAll(alunos);
+        } catch (DataIntegrityViolationException exception) {
+            throw new AlunoAlreadyExistsException();
+        }
+    }
+
+    private List<String> validate(Aluno aluno) {
+        return validator.validate(aluno).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(toList());
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.humbertofernandes.aluno.api.service;
+
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.model.AlunoView;
+import br.com.humbertofernandes.aluno.api.service.exception.AlunoCursorInvalidException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Cursor de paginação de {@code GET /aluno}, recebido em {@code after} e devolvido em {@code X-Next-Cursor}. Na
+ * ordenação por id é o id do último aluno da página; nas demais é {@code valor,id}, com o valor da chave de
+ * ordenação codificado como em uma URL, para que a próxima página não dependa de o último aluno ainda existir.
+ * Um id sozinho continua aceito em qualquer ordenação: o valor da chave é então lido pela chave primária.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class AlunoCursor {
+
+    private static final char SEPARATOR = ',';
+
+    private final Long id;
+    private final String value;
+
+    public static AlunoCursor parse(String after) {
+        if (!StringUtils.hasText(after)) {
+            return null;
+        }
+
+        int separator = after.lastIndexOf(SEPARATOR);
+        try {
+            if (separator < 0) {
+                return new AlunoCursor(Long.valueOf(after.trim()), null);
+            }
+            return new AlunoCursor(Long.valueOf(after.substring(separator + 1).trim()),
+                    UriUtils.decode(after.substring(0, separator), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException exception) {
+            throw new AlunoCursorInvalidException();
+        }
+    }
+
+    public static String next(AlunoFilter filter, Aluno last) {
+        return next(filter, last.getId(),
+                filter.getSortKey() == AlunoFilter.SortKey.NOME ? last.getNome() : last.getIdade());
+    }
+
+    public static String next(AlunoFilter filter, AlunoView last) {
+        return next(filter, last.getId(), last.getSortValue());
+    }
+
+    private static String next(AlunoFilter filter, Long id, Object value) {
+        switch (filter.getSortKey()) {
+            case NOME:
+                return UriUtils.encode((String) value, StandardCharsets.UTF_8) + SEPARATOR + id;
+            case IDADE:
+                return String.valueOf(value) + SEPARATOR + id;
+            default:
+                return String.valueOf(id);
+        }
+    }
+
+    /**
+     * @return o aluno com o id e o valor da chave de ordenação, ou {@code null} se o cursor for só um id e a
+     * ordenação não for por id, caso em que a chave precisa ser lida do banco
+     */
+    Aluno toAluno(AlunoFilter.SortKey sortKey) {
+        Aluno aluno = new Aluno();
+        aluno.setId(id);
+
+        if (sortKey == AlunoFilter.SortKey.ID) {
+            return aluno;
+        }
+        if (value == null) {
+            return null;
+        }
+        try {
+            if (sortKey == AlunoFilter.SortKey.NOME) {
+                aluno.setNome(value);
+            } else {
+                aluno.setIdade(Integer.valueOf(value));
+            }
+        } catch (NumberFormatException exception) {
+            throw new AlunoCursorInvalidException();
+        }
+        return aluno;
+    }
+}
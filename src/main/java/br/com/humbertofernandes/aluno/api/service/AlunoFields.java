@@ -0,0 +1,38 @@
+package br.com.humbertofernandes.aluno.api.service;
+
+import br.com.humbertofernandes.aluno.api.model.AlunoView;
+import br.com.humbertofernandes.aluno.api.service.exception.AlunoFieldNotSupportedException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Leitura do parâmetro {@code fields} ({@code id,nome,idade}) das consultas de aluno.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public final class AlunoFields {
+
+    private AlunoFields() {
+    }
+
+    public static Set<AlunoView.Field> parse(String fields) {
+        Set<AlunoView.Field> parsed = EnumSet.of(AlunoView.Field.ID);
+
+        for (String name : fields.split(",")) {
+            parsed.add(field(name.trim()));
+        }
+
+        return parsed;
+    }
+
+    private static AlunoView.Field field(String name) {
+        for (AlunoView.Field field : AlunoView.Field.values()) {
+            if (field.getProperty().equals(name)) {
+                return field;
+            }
+        }
+
+        throw new AlunoFieldNotSupportedException();
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.humbertofernandes.aluno.api.service;
+
+import br.com.humbertofernandes.aluno.api.service.exception.AlunoSortNotSupportedException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.util.Locale;
+
+/**
+ * Filtros e ordenação aceitos por {@code GET /aluno}. Só é possível ordenar por colunas indexadas
+ * ({@link SortKey}), para que nenhuma requisição provoque uma varredura completa seguida de ordenação.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class AlunoFilter {
+
+    public static final AlunoFilter NONE = new AlunoFilter(null, null, null, SortKey.ID, Sort.Direction.ASC);
+
+    private final String nomePrefix;
+    private final Integer idadeMin;
+    private final Integer idadeMax;
+    private final SortKey sortKey;
+    private final Sort.Direction direction;
+
+    /**
+     * @param sort chave de ordenação no formato {@code campo} ou {@code campo,asc|desc}
+     */
+    public static AlunoFilter of(String nomePrefix, Integer idadeMin, Integer idadeMax, String sort) {
+        SortKey sortKey = SortKey.ID;
+        Sort.Direction direction = Sort.Direction.ASC;
+
+        if (StringUtils.hasText(sort)) {
+            String[] parts = sort.split(",", -1);
+            if (parts.length > 2) {
+                throw new AlunoSortNotSupportedException();
+            }
+            sortKey = SortKey.parse(parts[0]);
+            if (parts.length == 2) {
+                direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                        .orElseThrow(AlunoSortNotSupportedException::new);
+            }
+        }
+
+        return new AlunoFilter(StringUtils.hasText(nomePrefix) ? nomePrefix : null, idadeMin, idadeMax, sortKey, direction);
+    }
+
+    public boolean isDefault() {
+        return nomePrefix == null && idadeMin == null && idadeMax == null
+                && sortKey == SortKey.ID && direction == Sort.Direction.ASC;
+    }
+
+    /**
+     * Ordenação pela chave escolhida com desempate por id na mesma direção, o que permite percorrer o índice
+     * composto nos dois sentidos e paginar por cursor.
+     */
+    public Sort toSort() {
+        Sort sort = Sort.by(direction, sortKey.getProperty());
+        return sortKey == SortKey.ID ? sort : sort.and(Sort.by(direction, SortKey.ID.getProperty()));
+    }
+
+    /**
+     * Colunas de {@code aluno} com índice que cobre a ordenação: a chave primária, o índice único de nome e
+     * {@code idx_aluno_idade (idade, id)}.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum SortKey {
+        ID("id"),
+        NOME("nome"),
+        IDADE("idade");
+
+        private final String property;
+
+        static SortKey parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException exception) {
+                throw new AlunoSortNotSupportedException();
+            }
+        }
+    }
+}
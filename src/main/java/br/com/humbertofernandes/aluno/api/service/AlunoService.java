@@ -1,15 +1,34 @@
 package br.com.humbertofernandes.aluno.api.service;
 
+import br.com.humbertofernandes.aluno.api.event.AlunoCreatedEvent;
+import br.com.humbertofernandes.aluno.api.event.AlunoDeletedEvent;
+import br.com.humbertofernandes.aluno.api.event.AlunoUpdatedEvent;
 import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.model.AlunoView;
 import br.com.humbertofernandes.aluno.api.repository.AlunoRepository;
+import br.com.humbertofernandes.aluno.api.repository.AlunoSpecifications;
+import br.com.humbertofernandes.aluno.api.service.cache.AlunoCache;
+import br.com.humbertofernandes.aluno.api.service.cache.AlunoLoader;
 import br.com.humbertofernandes.aluno.api.service.exception.AlunoAlreadyExistsException;
 import br.com.humbertofernandes.aluno.api.service.exception.AlunoNotFoundException;
-import org.springframework.beans.BeanUtils;
+import br.com.humbertofernandes.aluno.api.service.exception.AlunoVersionMismatchException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * @author Humberto Tadeu de Paiva Gomes Fernandes
@@ -17,51 +36,226 @@ import java.util.Optional;
 @Service
 public class AlunoService {
 
+    private static final String METRIC = "aluno.service";
+
     private AlunoRepository alunoRepository;
+    private AlunoCache alunoCache;
+    private AlunoLoader alunoLoader;
+    private ApplicationEventPublisher publisher;
 
-    public AlunoService(@Autowired AlunoRepository alunoRepository) {
+    public AlunoService(@Autowired AlunoRepository alunoRepository, @Autowired AlunoCache alunoCache,
+                        @Autowired AlunoLoader alunoLoader, @Autowired ApplicationEventPublisher publisher) {
         this.alunoRepository = alunoRepository;
+        this.alunoCache = alunoCache;
+        this.alunoLoader = alunoLoader;
+        this.publisher = publisher;
+    }
+
+    @Timed(METRIC)
+    @Transactional(readOnly = true)
+    public List<Aluno> getAll(final Long after, final int limit) {
+        Long cursor = after == null ? 0L : after;
+        return alunoRepository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Página filtrada e ordenada a partir do {@link AlunoCursor} da página anterior.
+     */
+    @Timed(METRIC)
+    @Transactional(readOnly = true)
+    public List<Aluno> getAll(final AlunoFilter filter, final AlunoCursor after, final int limit) {
+        if (filter.isDefault()) {
+            return getAll(after == null ? null : after.getId(), limit);
+        }
+
+        return alunoRepository.findAll(specification(filter, after), filter.toSort(), limit);
     }
 
-    public List<Aluno> getAll() {
-        return alunoRepository.findAll();
+    /**
+     * Como {@link #getAll(AlunoFilter, AlunoCursor, int)}, selecionando apenas as colunas de {@code fields}.
+     */
+    @Timed(METRIC)
+    @Transactional(readOnly = true)
+    public List<AlunoView> getAll(final AlunoFilter filter, final AlunoCursor after, final int limit,
+                                  final Set<AlunoView.Field> fields) {
+        return alunoRepository.findAll(specification(filter, after), filter.toSort(), limit, fields);
     }
 
+    @Timed(METRIC)
+    @Transactional(readOnly = true)
+    public void streamAll(final Consumer<Aluno> action) {
+        alunoRepository.streamAll(action);
+    }
+
+    /**
+     * Sem transação própria para que um acerto no cache não pegue conexão; na falta, o {@link AlunoLoader} junta
+     * a consulta às de outras requisições e as do repositório já rodam em transação somente leitura.
+     */
+    @Timed(METRIC)
     public Aluno findById(final Long id) {
-        Optional<Aluno> alunoOptional = alunoRepository.findById(id);
+        Optional<Aluno> alunoOptional = alunoCache.getIfPresent(id);
+        if (alunoOptional == null) {
+            alunoOptional = alunoLoader.load(id);
+        }
         return alunoOptional.orElseThrow(AlunoNotFoundException::new);
     }
 
+    /**
+     * Usa o aluno do cache quando já está lá; senão consulta só as colunas pedidas, sem popular o cache com um
+     * aluno parcial.
+     */
+    @Timed(METRIC)
+    public AlunoView findById(final Long id, final Set<AlunoView.Field> fields) {
+        Optional<Aluno> cached = alunoCache.getIfPresent(id);
+        Optional<AlunoView> view = cached != null
+                ? cached.map(aluno -> AlunoView.of(aluno, fields))
+                : alunoRepository.findViewById(id, fields);
+        return view.orElseThrow(AlunoNotFoundException::new);
+    }
+
+    @Timed(METRIC)
+    @Transactional
     public Aluno save(final Aluno aluno) {
-        verifyIsAlunoExists(aluno);
-        return alunoRepository.save(aluno);
+        Aluno alunoSaved = saveAndFlush(aluno);
+        afterCommit(() -> alunoCache.put(alunoSaved));
+        publisher.publishEvent(new AlunoCreatedEvent(this, alunoSaved));
+        return alunoSaved;
     }
 
+    @Timed(METRIC)
+    @Transactional
     public Aluno update(final Long id, final Aluno aluno) {
-        Aluno alunoSaved = findById(id);
-        BeanUtils.copyProperties(aluno, alunoSaved, "id");
-        return save(alunoSaved);
+        return update(id, aluno, null);
+    }
+
+    @Timed(METRIC)
+    @Transactional
+    public Aluno update(final Long id, final Aluno aluno, final Long expectedVersion) {
+        if (updateById(id, aluno, expectedVersion) == 0) {
+            if (expectedVersion != null && alunoRepository.existsById(id)) {
+                throw new AlunoVersionMismatchException();
+            }
+            throw new AlunoNotFoundException();
+        }
+
+        Aluno alunoUpdated = new Aluno();
+        alunoUpdated.setId(id);
+        alunoUpdated.setNome(aluno.getNome());
+        alunoUpdated.setIdade(aluno.getIdade());
+        alunoUpdated.setVersao(expectedVersion != null
+                ? expectedVersion + 1
+                : alunoRepository.findVersaoById(id).orElseThrow(AlunoNotFoundException::new));
+
+        afterCommit(() -> alunoCache.put(alunoUpdated));
+        publisher.publishEvent(new AlunoUpdatedEvent(this, alunoUpdated));
+        return alunoUpdated;
     }
 
+    @Timed(METRIC)
+    @Transactional
     public void delete(Long id) {
-        Optional<Aluno> alunoSaved = alunoRepository.findById(id);
+        delete(id, null);
+    }
+
+    @Timed(METRIC)
+    @Transactional
+    public void delete(Long id, Long expectedVersion) {
+        int deleted = expectedVersion == null
+                ? alunoRepository.deleteAlunoById(id)
+                : alunoRepository.deleteAlunoByIdAndVersao(id, expectedVersion);
 
-        if (!alunoSaved.isPresent()) {
+        if (deleted == 0) {
+            if (expectedVersion != null && alunoRepository.existsById(id)) {
+                throw new AlunoVersionMismatchException();
+            }
             throw new AlunoNotFoundException();
         }
 
-        alunoRepository.delete(alunoSaved.get());
+        afterCommit(() -> alunoCache.evict(id));
+        publisher.publishEvent(new AlunoDeletedEvent(this, id));
     }
 
-    private void verifyIsAlunoExists(final Aluno aluno) {
-        Optional<Aluno> alunoByNome = alunoRepository.findByNome(aluno.getNome());
+    @Timed(METRIC)
+    @Transactional
+    public int deleteAll(final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> existing = alunoRepository.findIdByIdIn(ids);
+        if (existing.isEmpty()) {
+            return 0;
+        }
+
+        int deleted = alunoRepository.deleteAlunoByIdIn(existing);
+        afterCommit(() -> existing.forEach(alunoCache::evict));
+        existing.forEach(id -> publisher.publishEvent(new AlunoDeletedEvent(this, id)));
+        return deleted;
+    }
+
+    /**
+     * O cache só vê uma escrita depois do commit: com rollback nada muda, e nenhuma outra thread lê do cache um
+     * aluno ainda não confirmado. Na remoção, a marca de {@link AlunoCache#evictions()} também só avança depois do
+     * commit, então uma consulta do {@link AlunoLoader} que ainda enxergou a linha não a devolve ao cache.
+     * Também usado pelo {@link AlunoBatchService}.
+     */
+    static void afterCommit(final Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Specification<Aluno> specification(final AlunoFilter filter, final AlunoCursor after) {
+        return Specification
+                .where(AlunoSpecifications.nomeStartsWith(filter.getNomePrefix()))
+                .and(AlunoSpecifications.idadeGreaterThanOrEqualTo(filter.getIdadeMin()))
+                .and(AlunoSpecifications.idadeLessThanOrEqualTo(filter.getIdadeMax()))
+                .and(AlunoSpecifications.after(filter.getSortKey().getProperty(), filter.getDirection(),
+                        cursor(filter, after)));
+    }
 
-        if (alunoByNome.isPresent() && (aluno.isNew() || isUpdatingToDifferentAluno(aluno, alunoByNome))) {
-            throw new AlunoAlreadyExistsException();
+    private Aluno cursor(final AlunoFilter filter, final AlunoCursor after) {
+        if (after == null) {
+            return null;
         }
+        Aluno cursor = after.toAluno(filter.getSortKey());
+        if (cursor == null) {
+            return alunoRepository.findById(after.getId()).orElseThrow(AlunoNotFoundException::new);
+        }
+        return cursor;
+    }
+
+    private Aluno saveAndFlush(final Aluno aluno) {
+        try {
+            return alunoRepository.saveAndFlush(aluno);
+        } catch (DataIntegrityViolationException exception) {
+            throw translate(exception);
+        }
+    }
+
+    private int updateById(final Long id, final Aluno aluno, final Long expectedVersion) {
+        try {
+            return expectedVersion == null
+                    ? alunoRepository.updateById(id, aluno.getNome(), aluno.getIdade())
+                    : alunoRepository.updateByIdAndVersao(id, expectedVersion, aluno.getNome(), aluno.getIdade());
+        } catch (DataIntegrityViolationException exception) {
+            throw translate(exception);
+        }
+    }
+
+    private RuntimeException translate(DataIntegrityViolationException exception) {
+        return isUniqueNomeViolation(exception) ? new AlunoAlreadyExistsException() : exception;
     }
 
-    private boolean isUpdatingToDifferentAluno(Aluno aluno, Optional<Aluno> alunoByNome) {
-        return aluno.alreadyExist() && !alunoByNome.get().equals(aluno);
+    private boolean isUniqueNomeViolation(DataIntegrityViolationException exception) {
+        String message = exception.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(Aluno.UNIQUE_NOME);
     }
 }
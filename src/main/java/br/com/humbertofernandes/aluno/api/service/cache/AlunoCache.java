@@ -0,0 +1,104 @@
+package br.com.humbertofernandes.aluno.api.service.cache;
+
+import br.com.humbertofernandes.aluno.api.config.AlunoCacheProperties;
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+public class AlunoCache {
+
+    public static final String NAME = "aluno";
+
+    private final Cache<Long, Optional<Aluno>> cache;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AlunoCache(AlunoCacheProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new AlunoExpiry(properties.getTtl().toNanos(), properties.getNegativeTtl().toNanos()))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Aluno> get(Long id, Function<Long, Optional<Aluno>> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Entrada já carregada, sem consultar o banco; {@code null} quando o id não está no cache.
+     */
+    public Optional<Aluno> getIfPresent(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * Marca a ser passada para {@link #putLoaded} por quem lê o banco fora do {@link #get}.
+     */
+    public long evictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Guarda o resultado de uma consulta feita fora do {@link #get} sem sobrescrever o que uma escrita já colocou
+     * e sem ressuscitar um aluno removido depois de {@code evictions}.
+     */
+    public void putLoaded(Long id, Optional<Aluno> aluno, long evictions) {
+        cache.asMap().compute(id, (key, current) -> current != null || this.evictions.get() != evictions
+                ? current
+                : aluno);
+    }
+
+    public void put(Aluno aluno) {
+        cache.put(aluno.getId(), Optional.of(aluno));
+    }
+
+    public void evict(Long id) {
+        evictions.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    public void evictAll() {
+        evictions.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public Cache<Long, Optional<Aluno>> getNativeCache() {
+        return cache;
+    }
+
+    private static final class AlunoExpiry implements Expiry<Long, Optional<Aluno>> {
+
+        private final long ttl;
+        private final long negativeTtl;
+
+        private AlunoExpiry(long ttl, long negativeTtl) {
+            this.ttl = ttl;
+            this.negativeTtl = negativeTtl;
+        }
+
+        @Override
+        public long expireAfterCreate(Long id, Optional<Aluno> aluno, long currentTime) {
+            return aluno.isPresent() ? ttl : negativeTtl;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long id, Optional<Aluno> aluno, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, aluno, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long id, Optional<Aluno> aluno, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
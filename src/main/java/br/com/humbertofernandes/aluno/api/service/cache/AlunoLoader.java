@@ -0,0 +1,177 @@
+package br.com.humbertofernandes.aluno.api.service.cache;
+
+import br.com.humbertofernandes.aluno.api.config.AlunoLoaderProperties;
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.repository.AlunoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Carrega alunos que não estão no {@link AlunoCache} juntando as consultas concorrentes:
+ * <ul>
+ *     <li>quem pede um id que já está sendo buscado espera o mesmo resultado, sem nova consulta;</li>
+ *     <li>ids diferentes pedidos dentro de {@code aluno.loader.window} viram um único {@code findAllById}, de até
+ *     {@code aluno.loader.max-batch-size} ids. A primeira thread do lote espera a janela (ou o lote encher) e
+ *     executa a consulta para todas; as demais só aguardam o resultado.</li>
+ * </ul>
+ * Um lote de um id só usa {@code findById}. Com a janela zerada sobra apenas a junção de pedidos do mesmo id.
+ * Os resultados, inclusive os não encontrados, vão para o cache pelo {@link AlunoCache#putLoaded}.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+public class AlunoLoader {
+
+    private static final String METRIC = "aluno.loader";
+
+    private final AlunoRepository alunoRepository;
+    private final AlunoCache alunoCache;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Map<Long, CompletableFuture<Optional<Aluno>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter requests;
+    private final Counter coalesced;
+    private final Counter queries;
+    private final DistributionSummary batchSize;
+
+    private Batch open;
+
+    public AlunoLoader(AlunoRepository alunoRepository, AlunoCache alunoCache, AlunoLoaderProperties properties,
+                       MeterRegistry registry) {
+        this.alunoRepository = alunoRepository;
+        this.alunoCache = alunoCache;
+        this.windowNanos = properties.getWindow().toNanos();
+        this.maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+        this.requests = registry.counter(METRIC + ".requests");
+        this.coalesced = registry.counter(METRIC + ".coalesced");
+        this.queries = registry.counter(METRIC + ".queries");
+        this.batchSize = DistributionSummary.builder(METRIC + ".batch.size").register(registry);
+        Gauge.builder(METRIC + ".coalescing.ratio", this, AlunoLoader::coalescingRatio)
+                .description("Pedidos que chegaram ao loader por consulta executada no banco")
+                .register(registry);
+    }
+
+    public Optional<Aluno> load(Long id) {
+        requests.increment();
+
+        CompletableFuture<Optional<Aluno>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<Aluno>> pending = inFlight.putIfAbsent(id, future);
+        if (pending != null) {
+            coalesced.increment();
+            return join(pending);
+        }
+
+        Batch batch;
+        boolean leader;
+        boolean full;
+        synchronized (this) {
+            leader = open == null;
+            if (leader) {
+                open = new Batch(Thread.currentThread());
+            }
+            batch = open;
+            batch.ids.add(id);
+            full = batch.ids.size() >= maxBatchSize;
+            if (full) {
+                batch.closed = true;
+                open = null;
+            }
+        }
+
+        if (leader) {
+            if (!full) {
+                awaitWindow(batch);
+            }
+            execute(batch);
+        } else if (full) {
+            LockSupport.unpark(batch.leader);
+        }
+        return join(future);
+    }
+
+    private void awaitWindow(Batch batch) {
+        long deadline = System.nanoTime() + windowNanos;
+        long remaining = windowNanos;
+        while (!batch.closed && remaining > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+
+        synchronized (this) {
+            if (open == batch) {
+                open = null;
+            }
+            batch.closed = true;
+        }
+    }
+
+    private void execute(Batch batch) {
+        queries.increment();
+        batchSize.record(batch.ids.size());
+        long evictions = alunoCache.evictions();
+
+        Map<Long, Aluno> found;
+        try {
+            found = findAll(batch.ids);
+        } catch (RuntimeException | Error exception) {
+            batch.ids.forEach(id -> inFlight.remove(id).completeExceptionally(exception));
+            return;
+        }
+
+        for (Long id : batch.ids) {
+            Optional<Aluno> aluno = Optional.ofNullable(found.get(id));
+            alunoCache.putLoaded(id, aluno, evictions);
+            inFlight.remove(id).complete(aluno);
+        }
+    }
+
+    private Map<Long, Aluno> findAll(List<Long> ids) {
+        Map<Long, Aluno> found = new HashMap<>(ids.size() * 2);
+        if (ids.size() == 1) {
+            alunoRepository.findById(ids.get(0)).ifPresent(aluno -> found.put(aluno.getId(), aluno));
+        } else {
+            alunoRepository.findAllById(ids).forEach(aluno -> found.put(aluno.getId(), aluno));
+        }
+        return found;
+    }
+
+    private static Optional<Aluno> join(CompletableFuture<Optional<Aluno>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw exception;
+        }
+    }
+
+    private double coalescingRatio() {
+        double executed = queries.count();
+        return executed == 0 ? 0 : requests.count() / executed;
+    }
+
+    private static final class Batch {
+
+        private final Thread leader;
+        private final List<Long> ids = new ArrayList<>();
+        private volatile boolean closed;
+
+        private Batch(Thread leader) {
+            this.leader = leader;
+        }
+    }
+}
@@ -9,7 +9,9 @@ public class AlunoAlreadyExistsException extends BusinessException {
 
     private static final long serialVersionUID = 7699063453846558338L;
 
+    public static final String CODE = "aluno-4";
+
     public AlunoAlreadyExistsException() {
-        super("aluno-4", HttpStatus.BAD_REQUEST);
+        super(CODE, HttpStatus.BAD_REQUEST);
     }
 }
@@ -0,0 +1,15 @@
+package br.com.humbertofernandes.aluno.api.service.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public class AlunoCursorInvalidException extends BusinessException {
+
+    private static final long serialVersionUID = 3817460954307221684L;
+
+    public AlunoCursorInvalidException() {
+        super("aluno-10", HttpStatus.BAD_REQUEST);
+    }
+}
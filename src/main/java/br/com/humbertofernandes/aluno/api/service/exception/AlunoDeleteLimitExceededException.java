@@ -0,0 +1,15 @@
+package br.com.humbertofernandes.aluno.api.service.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public class AlunoDeleteLimitExceededException extends BusinessException {
+
+    private static final long serialVersionUID = -6150923721844059372L;
+
+    public AlunoDeleteLimitExceededException() {
+        super("aluno-11", HttpStatus.BAD_REQUEST);
+    }
+}
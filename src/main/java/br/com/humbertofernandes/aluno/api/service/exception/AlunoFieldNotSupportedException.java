@@ -0,0 +1,15 @@
+package br.com.humbertofernandes.aluno.api.service.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public class AlunoFieldNotSupportedException extends BusinessException {
+
+    private static final long serialVersionUID = -1385907541626630923L;
+
+    public AlunoFieldNotSupportedException() {
+        super("aluno-8", HttpStatus.BAD_REQUEST);
+    }
+}
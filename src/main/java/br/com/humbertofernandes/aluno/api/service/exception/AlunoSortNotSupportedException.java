@@ -0,0 +1,15 @@
+package br.com.humbertofernandes.aluno.api.service.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public class AlunoSortNotSupportedException extends BusinessException {
+
+    private static final long serialVersionUID = 5102318226071548417L;
+
+    public AlunoSortNotSupportedException() {
+        super("aluno-7", HttpStatus.BAD_REQUEST);
+    }
+}
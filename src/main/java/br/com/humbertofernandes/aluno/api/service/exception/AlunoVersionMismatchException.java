@@ -0,0 +1,15 @@
+package br.com.humbertofernandes.aluno.api.service.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public class AlunoVersionMismatchException extends BusinessException {
+
+    private static final long serialVersionUID = -3546012290836716247L;
+
+    public AlunoVersionMismatchException() {
+        super("aluno-6", HttpStatus.PRECONDITION_FAILED);
+    }
+}
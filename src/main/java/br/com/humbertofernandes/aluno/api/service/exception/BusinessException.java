@@ -1,18 +1,32 @@
 package br.com.humbertofernandes.aluno.api.service.exception;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 
 /**
+ * Erro de negócio respondido pelo {@code ApiExceptionHandler} apenas com o código e o status, por isso não
+ * captura a pilha: em rajadas de 404 o {@code fillInStackTrace} era a parte mais cara da requisição.
+ * Para depurar, a JVM iniciada com {@code -Daluno.errors.stack-traces=true} volta a capturá-la.
+ *
  * @author Humberto Tadeu de Paiva Gomes Fernandes
  */
-@RequiredArgsConstructor
 @Getter
 public class BusinessException extends RuntimeException {
 
     private static final long serialVersionUID = -4283908950021089762L;
 
+    static final boolean STACK_TRACES = Boolean.getBoolean("aluno.errors.stack-traces");
+
     private final String code;
     private final HttpStatus status;
+
+    public BusinessException(String code, HttpStatus status) {
+        this(code, status, STACK_TRACES);
+    }
+
+    protected BusinessException(String code, HttpStatus status, boolean writableStackTrace) {
+        super(null, null, true, writableStackTrace);
+        this.code = code;
+        this.status = status;
+    }
 }
@@ -0,0 +1,48 @@
+package br.com.humbertofernandes.aluno.api.service.outbox;
+
+import br.com.humbertofernandes.aluno.api.config.OutboxProperties;
+import br.com.humbertofernandes.aluno.api.model.OutboxMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Acrescenta cada mensagem como uma linha JSON (NDJSON) ao arquivo {@code aluno.outbox.file}.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@ConditionalOnProperty(prefix = "aluno.outbox", name = "sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        this.file = Paths.get(properties.getFile());
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxMessage message : messages) {
+                writer.write(objectMapper.writeValueAsString(message));
+                writer.newLine();
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
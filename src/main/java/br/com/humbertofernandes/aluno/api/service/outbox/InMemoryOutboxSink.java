@@ -0,0 +1,46 @@
+package br.com.humbertofernandes.aluno.api.service.outbox;
+
+import br.com.humbertofernandes.aluno.api.config.OutboxProperties;
+import br.com.humbertofernandes.aluno.api.model.OutboxMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Guarda as últimas mensagens recebidas em memória, descartando as mais antigas. Útil para testes locais.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@ConditionalOnProperty(prefix = "aluno.outbox", name = "sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final Deque<OutboxMessage> messages = new ArrayDeque<>();
+
+    public InMemoryOutboxSink(OutboxProperties properties) {
+        this.capacity = properties.getMemoryCapacity();
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            if (messages.size() == capacity) {
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+        }
+    }
+
+    public synchronized List<OutboxMessage> getMessages() {
+        return new ArrayList<>(messages);
+    }
+
+    public synchronized void clear() {
+        messages.clear();
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.humbertofernandes.aluno.api.service.outbox;
+
+import br.com.humbertofernandes.aluno.api.config.OutboxProperties;
+import br.com.humbertofernandes.aluno.api.model.OutboxMessage;
+import br.com.humbertofernandes.aluno.api.repository.AlunoOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drena a tabela {@code aluno_outbox} em lotes para o {@link OutboxSink} configurado. A linha só é apagada
+ * depois que o sink aceita o lote; se ele falhar, o lote é reenviado na próxima execução.
+ * Pressupõe uma única instância da aplicação drenando a tabela. Nunca é inicializado sob demanda, pois nada depende
+ * dele: com {@code spring.main.lazy-initialization} a outbox deixaria de ser drenada.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+@Lazy(false)
+@ConditionalOnProperty(prefix = "aluno.outbox", name = "enabled", matchIfMissing = true)
+public class OutboxRelay implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final AlunoOutboxRepository outboxRepository;
+    private final OutboxSink sink;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter relayed;
+    private final Counter failures;
+    private final Timer relayTimer;
+
+    private volatile boolean running = true;
+
+    public OutboxRelay(AlunoOutboxRepository outboxRepository, OutboxSink sink, OutboxProperties properties,
+                       MeterRegistry registry) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.batchSize = properties.getBatchSize();
+        this.relayed = registry.counter("aluno.outbox.relayed");
+        this.failures = registry.counter("aluno.outbox.failures");
+        this.relayTimer = registry.timer("aluno.outbox.relay");
+        TimeGauge.builder("aluno.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::doubleValue).register(registry);
+
+        long interval = properties.getPollInterval().toMillis();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "aluno-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::relay, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void relay() {
+        try {
+            List<OutboxMessage> batch;
+            do {
+                batch = outboxRepository.findFirst(batchSize);
+                lagMillis.set(batch.isEmpty() ? 0 : Duration.between(batch.get(0).getCriadoEm(), Instant.now()).toMillis());
+
+                if (!batch.isEmpty()) {
+                    relayTimer.record(publishAndDelete(batch));
+                    relayed.increment(batch.size());
+                }
+            } while (running && batch.size() == batchSize);
+        } catch (RuntimeException exception) {
+            failures.increment();
+            LOG.warn("Outbox relay failed, the batch will be retried", exception);
+        }
+    }
+
+    private Runnable publishAndDelete(List<OutboxMessage> batch) {
+        return () -> {
+            sink.publish(batch);
+            outboxRepository.deleteAll(batch);
+        };
+    }
+}
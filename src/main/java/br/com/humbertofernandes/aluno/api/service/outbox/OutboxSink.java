@@ -0,0 +1,16 @@
+package br.com.humbertofernandes.aluno.api.service.outbox;
+
+import br.com.humbertofernandes.aluno.api.model.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Destino das mensagens drenadas da outbox. Uma exceção faz o lote inteiro ser reenviado
+ * na próxima execução do {@link OutboxRelay}, logo a entrega é pelo menos uma vez.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> messages);
+}
@@ -0,0 +1,160 @@
+package br.com.humbertofernandes.aluno.api.service.search;
+
+import br.com.humbertofernandes.aluno.api.event.AlunoCreatedEvent;
+import br.com.humbertofernandes.aluno.api.event.AlunoEvent;
+import br.com.humbertofernandes.aluno.api.event.AlunoEventHandler;
+import br.com.humbertofernandes.aluno.api.event.AlunoUpdatedEvent;
+import br.com.humbertofernandes.aluno.api.service.AlunoService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de trigramas dos nomes em memória para {@code GET /aluno/search}. É montado a partir do banco em uma
+ * thread própria quando a aplicação fica pronta e mantido pelos eventos de domínio, que chegam em lotes depois do
+ * commit; as buscas, portanto, podem ficar alguns milissegundos atrás do banco.
+ * <p>
+ * Durante uma reconstrução o índice anterior continua atendendo as buscas e os eventos recebidos são aplicados nos
+ * dois: no atual e, ao final, no novo, para não perder alterações feitas depois que a linha foi lida.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Component
+public class AlunoSearchIndex implements AlunoEventHandler, ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlunoSearchIndex.class);
+
+    private final AlunoService alunoService;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService builder;
+
+    private TrigramIndex index = new TrigramIndex();
+    private List<AlunoEvent> pending;
+
+    public AlunoSearchIndex(AlunoService alunoService, MeterRegistry registry) {
+        this.alunoService = alunoService;
+        this.builder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "aluno-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("aluno.search.index.memory", this, AlunoSearchIndex::estimatedBytes)
+                .baseUnit(BaseUnits.BYTES)
+                .description("Estimated heap used by the aluno name search index")
+                .register(registry);
+        Gauge.builder("aluno.search.index.documents", this, AlunoSearchIndex::size).register(registry);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        builder.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException exception) {
+                LOG.error("Could not build the aluno search index", exception);
+            }
+        });
+    }
+
+    /**
+     * Relê todos os alunos do banco e troca o índice.
+     */
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TrigramIndex rebuilt = new TrigramIndex();
+        try {
+            alunoService.streamAll(aluno -> rebuilt.put(aluno.getId(), aluno.getNome()));
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pending.forEach(event -> apply(rebuilt, event));
+                index = rebuilt;
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        LOG.info("Aluno search index built with {} names", rebuilt.size());
+    }
+
+    @Override
+    public void handle(List<AlunoEvent> events) {
+        lock.writeLock().lock();
+        try {
+            events.forEach(event -> apply(index, event));
+            if (pending != null) {
+                pending.addAll(events);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long[] search(String query, double minSimilarity, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.search(query, minSimilarity, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return index.estimatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        builder.shutdownNow();
+    }
+
+    private static void apply(TrigramIndex index, AlunoEvent event) {
+        switch (event.getType()) {
+            case CREATED:
+                index.put(event.getId(), ((AlunoCreatedEvent) event).getAluno().getNome());
+                break;
+            case UPDATED:
+                index.put(event.getId(), ((AlunoUpdatedEvent) event).getAluno().getNome());
+                break;
+            case DELETED:
+                index.remove(event.getId());
+                break;
+            default:
+                throw new IllegalStateException("Unknown aluno event " + event.getType());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.humbertofernandes.aluno.api.service.search;
+
+import br.com.humbertofernandes.aluno.api.config.SearchProperties;
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.repository.AlunoRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Busca aproximada por nome: o {@link AlunoSearchIndex} ordena os ids e os alunos são lidos do banco em uma única
+ * consulta, descartando os que já foram removidos e o índice ainda não viu.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Service
+public class AlunoSearchService {
+
+    private final AlunoSearchIndex alunoSearchIndex;
+    private final AlunoRepository alunoRepository;
+    private final SearchProperties properties;
+
+    public AlunoSearchService(AlunoSearchIndex alunoSearchIndex, AlunoRepository alunoRepository,
+                              SearchProperties properties) {
+        this.alunoSearchIndex = alunoSearchIndex;
+        this.alunoRepository = alunoRepository;
+        this.properties = properties;
+    }
+
+    @Timed("aluno.service")
+    @Transactional(readOnly = true)
+    public List<Aluno> search(final String query, final Integer limit) {
+        long[] ids = alunoSearchIndex.search(query, properties.getMinSimilarity(), properties.resolve(limit));
+        if (ids.length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<Long> ranked = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            ranked.add(id);
+        }
+
+        Map<Long, Aluno> alunos = new HashMap<>();
+        alunoRepository.findAllById(ranked).forEach(aluno -> alunos.put(aluno.getId(), aluno));
+
+        List<Aluno> result = new ArrayList<>(alunos.size());
+        for (Long id : ranked) {
+            Aluno aluno = alunos.get(id);
+            if (aluno != null) {
+                result.add(aluno);
+            }
+        }
+        return result;
+    }
+}
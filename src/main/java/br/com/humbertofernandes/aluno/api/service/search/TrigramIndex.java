@@ -0,0 +1,453 @@
+package br.com.humbertofernandes.aluno.api.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Índice invertido de trigramas sobre nomes, no estilo do {@code pg_trgm}: cada palavra normalizada (minúsculas,
+ * sem acentos) vira os trigramas de {@code "  palavra "}, e cada trigrama aponta para a lista ordenada dos
+ * documentos que o contêm. Documentos são numerados em ordem de inserção, então as listas crescem só no fim e a
+ * busca é um merge delas contando quantos trigramas da consulta cada documento tem.
+ * <p>
+ * Remoções só marcam o documento; quando um quarto deles está marcado as listas são compactadas e renumeradas.
+ * Não é thread-safe para escrita: {@link AlunoSearchIndex} controla o acesso, permitindo buscas simultâneas.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+final class TrigramIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int COMPACTION_MIN_REMOVED = 1024;
+    private static final int MAX_QUERY_LENGTH = 128;
+    private static final long[] NO_IDS = new long[0];
+    private static final int SCRATCH_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble((Hit hit) -> hit.similarity)
+            .thenComparingDouble(hit -> hit.jaccard)
+            .thenComparing(Comparator.comparingLong((Hit hit) -> hit.id).reversed());
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final LongIntHashMap docById = new LongIntHashMap();
+    private final BitSet removed = new BitSet();
+    private final BlockingQueue<Scratch> scratchPool = new ArrayBlockingQueue<>(SCRATCH_POOL_SIZE);
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private short[] trigramCounts = new short[INITIAL_CAPACITY];
+    private int docs;
+    private int removedCount;
+
+    void put(long id, String nome) {
+        remove(id);
+
+        long[] trigrams = trigrams(nome);
+        if (trigrams.length == 0) {
+            return;
+        }
+
+        int doc = docs++;
+        if (doc == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            trigramCounts = Arrays.copyOf(trigramCounts, trigramCounts.length * 2);
+        }
+        ids[doc] = id;
+        trigramCounts[doc] = (short) Math.min(trigrams.length, Short.MAX_VALUE);
+        docById.put(id, doc);
+
+        for (long trigram : trigrams) {
+            postings.computeIfAbsent(trigram, key -> new Postings()).add(doc);
+        }
+    }
+
+    void remove(long id) {
+        int doc = docById.remove(id);
+        if (doc == LongIntHashMap.MISSING) {
+            return;
+        }
+
+        removed.set(doc);
+        removedCount++;
+        if (removedCount >= COMPACTION_MIN_REMOVED && removedCount * 4 >= docs) {
+            compact();
+        }
+    }
+
+    int size() {
+        return docs - removedCount;
+    }
+
+    /**
+     * Ids dos nomes que contêm pelo menos {@code minSimilarity} dos trigramas da consulta, do melhor para o pior:
+     * primeiro pela fração dos trigramas da consulta encontrados, o que favorece nomes que contêm a consulta, e
+     * depois pela similaridade de Jaccard, o que favorece nomes de tamanho parecido.
+     * <p>
+     * As ocorrências são contadas em um vetor por documento, emprestado de um pool de no máximo um vetor por
+     * processador: buscas simultâneas além disso alocam um vetor que não volta ao pool. Um documento que não está
+     * em nenhuma das {@code k - minHits + 1} listas mais curtas não alcança {@code minHits}, então só essas listas
+     * criam candidatos; as mais longas apenas somam nos candidatos já vistos.
+     */
+    long[] search(String query, double minSimilarity, int limit) {
+        long[] trigrams = trigrams(query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) : query);
+        if (trigrams.length == 0 || limit <= 0) {
+            return NO_IDS;
+        }
+
+        int minHits = Math.max(1, (int) Math.ceil(minSimilarity * trigrams.length));
+        List<Postings> lists = new ArrayList<>(trigrams.length);
+        for (long trigram : trigrams) {
+            Postings list = postings.get(trigram);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        if (lists.size() < minHits) {
+            return NO_IDS;
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        Scratch scratch = scratchPool.poll();
+        if (scratch == null) {
+            scratch = new Scratch();
+        }
+        long[] result = search(trigrams, lists, minHits, limit, scratch.ensureCapacity(docs));
+        scratchPool.offer(scratch);
+        return result;
+    }
+
+    private long[] search(long[] trigrams, List<Postings> lists, int minHits, int limit, Scratch scratch) {
+        short[] counts = scratch.counts;
+        int candidateLists = lists.size() - minHits + 1;
+        int candidates = 0;
+
+        for (int i = 0; i < lists.size(); i++) {
+            Postings list = lists.get(i);
+            boolean createsCandidates = i < candidateLists;
+            for (int p = 0; p < list.size; p++) {
+                int doc = list.docs[p];
+                if (counts[doc] > 0) {
+                    counts[doc]++;
+                } else if (createsCandidates) {
+                    counts[doc] = 1;
+                    candidates = scratch.addCandidate(candidates, doc);
+                }
+            }
+        }
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        int[] touched = scratch.candidates;
+        for (int c = 0; c < candidates; c++) {
+            int doc = touched[c];
+            int hits = counts[doc];
+            counts[doc] = 0;
+
+            if (hits >= minHits && !removed.get(doc)) {
+                offer(top, limit, new Hit(ids[doc], (double) hits / trigrams.length,
+                        (double) hits / (trigrams.length + trigramCounts[doc] - hits)));
+            }
+        }
+
+        long[] result = new long[top.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = top.poll().id;
+        }
+        return result;
+    }
+
+    /**
+     * Estimativa dos bytes ocupados pelo índice em uma JVM 64 bits com oops comprimidos, incluindo os vetores de
+     * busca guardados no pool.
+     */
+    long estimatedBytes() {
+        long bytes = ids.length * 8L + trigramCounts.length * 2L + removed.size() / 8 + docById.estimatedBytes();
+        for (Scratch scratch : scratchPool) {
+            bytes += scratch.estimatedBytes();
+        }
+        for (Postings list : postings.values()) {
+            // entrada do HashMap + Long da chave + Postings + cabeçalho do int[]
+            bytes += 32 + 16 + 24 + 16 + list.docs.length * 4L;
+        }
+        return bytes + postings.size() * 4L;
+    }
+
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean space = true;
+
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+
+        int length = normalized.length();
+        return length > 0 && normalized.charAt(length - 1) == ' '
+                ? normalized.substring(0, length - 1)
+                : normalized.toString();
+    }
+
+    /**
+     * Trigramas distintos e ordenados de {@code text}, cada um com seus três caracteres codificados em um long.
+     */
+    static long[] trigrams(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return NO_IDS;
+        }
+
+        long[] trigrams = new long[normalized.length() * 2 + 2];
+        int count = 0;
+        for (String word : normalized.split(" ")) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                if (count == trigrams.length) {
+                    trigrams = Arrays.copyOf(trigrams, count * 2);
+                }
+                trigrams[count++] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+            }
+        }
+
+        Arrays.sort(trigrams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || trigrams[distinct - 1] != trigrams[i]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    private static void offer(PriorityQueue<Hit> top, int limit, Hit hit) {
+        if (top.size() < limit) {
+            top.add(hit);
+        } else if (WORST_FIRST.compare(hit, top.peek()) > 0) {
+            top.poll();
+            top.add(hit);
+        }
+    }
+
+    private void compact() {
+        int[] renumbered = new int[docs];
+        int live = 0;
+        for (int doc = 0; doc < docs; doc++) {
+            if (removed.get(doc)) {
+                renumbered[doc] = -1;
+            } else {
+                renumbered[doc] = live;
+                ids[live] = ids[doc];
+                trigramCounts[live] = trigramCounts[doc];
+                live++;
+            }
+        }
+
+        Iterator<Postings> lists = postings.values().iterator();
+        while (lists.hasNext()) {
+            Postings list = lists.next();
+            list.renumber(renumbered);
+            if (list.size == 0) {
+                lists.remove();
+            }
+        }
+
+        docById.clear();
+        for (int doc = 0; doc < live; doc++) {
+            docById.put(ids[doc], doc);
+        }
+        removed.clear();
+        removedCount = 0;
+        docs = live;
+    }
+
+    private static final class Hit {
+
+        private final long id;
+        private final double similarity;
+        private final double jaccard;
+
+        private Hit(long id, double similarity, double jaccard) {
+            this.id = id;
+            this.similarity = similarity;
+            this.jaccard = jaccard;
+        }
+    }
+
+    /**
+     * Contadores por documento e lista de candidatos de uma busca; os contadores voltam a zero ao fim de cada uma.
+     */
+    private static final class Scratch {
+
+        private short[] counts = new short[0];
+        private int[] candidates = new int[INITIAL_CAPACITY];
+
+        private Scratch ensureCapacity(int docs) {
+            if (counts.length < docs) {
+                counts = new short[Math.max(docs, counts.length * 2)];
+            }
+            return this;
+        }
+
+        private long estimatedBytes() {
+            return 16 + counts.length * 2L + 16 + candidates.length * 4L;
+        }
+
+        private int addCandidate(int size, int doc) {
+            if (size == candidates.length) {
+                candidates = Arrays.copyOf(candidates, size * 2);
+            }
+            candidates[size] = doc;
+            return size + 1;
+        }
+    }
+
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int size;
+
+        private void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size + (size >> 1));
+            }
+            docs[size++] = doc;
+        }
+
+        private void renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = renumbered[docs[i]];
+                if (doc >= 0) {
+                    docs[kept++] = doc;
+                }
+            }
+            size = kept;
+            if (docs.length > kept * 2 && docs.length > 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, kept));
+            }
+        }
+    }
+
+    /**
+     * Mapa long para int com endereçamento aberto, para não guardar um {@code Long} e um {@code Integer} por aluno.
+     */
+    static final class LongIntHashMap {
+
+        static final int MISSING = -1;
+
+        private long[] keys;
+        private int[] values;
+        private int size;
+
+        LongIntHashMap() {
+            allocate(16);
+        }
+
+        int get(long key) {
+            int mask = values.length - 1;
+            for (int i = slot(key); values[i] != MISSING; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return MISSING;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 4 > values.length * 3) {
+                resize();
+            }
+
+            int mask = values.length - 1;
+            int i = slot(key);
+            while (values[i] != MISSING) {
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+        }
+
+        int remove(long key) {
+            int mask = values.length - 1;
+            for (int i = slot(key); values[i] != MISSING; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    int value = values[i];
+                    shiftBack(i);
+                    size--;
+                    return value;
+                }
+            }
+            return MISSING;
+        }
+
+        void clear() {
+            Arrays.fill(values, MISSING);
+            size = 0;
+        }
+
+        long estimatedBytes() {
+            return values.length * 12L;
+        }
+
+        private void shiftBack(int gap) {
+            int mask = values.length - 1;
+            int i = gap;
+            while (true) {
+                i = (i + 1) & mask;
+                if (values[i] == MISSING) {
+                    break;
+                }
+                int home = slot(keys[i]);
+                boolean movable = gap <= i ? (home <= gap || home > i) : (home <= gap && home > i);
+                if (movable) {
+                    keys[gap] = keys[i];
+                    values[gap] = values[i];
+                    gap = i;
+                }
+            }
+            values[gap] = MISSING;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            allocate(values.length * 2);
+            size = 0;
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != MISSING) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+            Arrays.fill(values, MISSING);
+        }
+
+        private int slot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & (values.length - 1);
+        }
+    }
+}
@@ -0,0 +1 @@
+CREATE INDEX idx_aluno_idade ON aluno (idade, id);
@@ -0,0 +1 @@
+CREATE UNIQUE INDEX uk_aluno_nome ON aluno (nome);
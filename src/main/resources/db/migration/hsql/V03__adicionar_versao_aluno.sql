@@ -0,0 +1 @@
+ALTER TABLE aluno ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,8 @@
+CREATE TABLE aluno_outbox
+(
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1 INCREMENT BY 1) PRIMARY KEY,
+    aluno_id  BIGINT        NOT NULL,
+    tipo      VARCHAR(16)   NOT NULL,
+    payload   VARCHAR(1000) NOT NULL,
+    criado_em TIMESTAMP     NOT NULL
+);
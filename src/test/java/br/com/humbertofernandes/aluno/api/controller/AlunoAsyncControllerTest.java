@@ -0,0 +1,134 @@
+package br.com.humbertofernandes.aluno.api.controller;
+
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.service.cache.AlunoCache;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasItems;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Sql(value = "/load-database.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = "/clean-database.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "aluno.execution.mode=async",
+        "aluno.execution.virtual-threads=false",
+        "aluno.execution.pool-size=2"})
+public class AlunoAsyncControllerTest {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AlunoCache alunoCache;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        alunoCache.evictAll();
+    }
+
+    @Test
+    public void should_find_first_page_of_aluno_with_next_cursor() {
+        given()
+                .queryParam("limit", 2)
+                .get("/aluno")
+                .then()
+                .log().headers().and()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .header(AlunoController.NEXT_CURSOR_HEADER, equalTo("2"))
+                .body("id", contains(1, 2));
+    }
+
+    @Test
+    public void should_return_not_modified_when_aluno_etag_matches() {
+        String etag = given()
+                .pathParam("id", 1L)
+                .get("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("nome", equalTo("Humberto"))
+                .extract().header("ETag");
+
+        given()
+                .pathParam("id", 1L)
+                .header("If-None-Match", etag)
+                .get("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+    }
+
+    @Test
+    public void should_return_error_not_found_when_find_aluno_by_id() {
+        given()
+                .pathParam("id", 10L)
+                .get("/aluno/{id}")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.NOT_FOUND.value())
+                .body("statusCode", equalTo(404),
+                        "errors", hasItems(hasEntry("code", "aluno-5")));
+    }
+
+    @Test
+    public void should_save_a_new_aluno() {
+        Aluno aluno = new Aluno();
+        aluno.setNome("João");
+        aluno.setIdade(10);
+
+        given()
+                .request()
+                .header("Content-type", ContentType.JSON)
+                .body(aluno)
+                .when()
+                .post("/aluno")
+                .then()
+                .log().headers().and()
+                .statusCode(HttpStatus.CREATED.value())
+                .header("Location", equalTo("http://localhost:" + port + "/aluno/6"))
+                .body("id", equalTo(6));
+    }
+
+    @Test
+    public void should_not_update_a_aluno_when_if_match_is_stale() {
+        Aluno aluno = new Aluno();
+        aluno.setNome("João");
+        aluno.setIdade(10);
+
+        given()
+                .pathParam("id", 1L)
+                .request()
+                .header("Content-type", ContentType.JSON)
+                .header("If-Match", "\"5\"")
+                .body(aluno)
+                .when()
+                .put("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.PRECONDITION_FAILED.value())
+                .body("errors", hasItems(hasEntry("code", "aluno-6")));
+    }
+
+    @Test
+    public void should_delete_a_aluno() {
+        given()
+                .pathParam("id", 1L)
+                .delete("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+    }
+}
@@ -1,21 +1,49 @@
 package br.com.humbertofernandes.aluno.api.controller;
 
+import br.com.humbertofernandes.aluno.api.config.BatchProperties;
 import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.model.OutboxMessage;
+import br.com.humbertofernandes.aluno.api.repository.AlunoOutboxRepository;
+import br.com.humbertofernandes.aluno.api.service.cache.AlunoCache;
+import br.com.humbertofernandes.aluno.api.service.outbox.InMemoryOutboxSink;
+import br.com.humbertofernandes.aluno.api.service.search.AlunoSearchIndex;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.emptyOrNullString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 
 /**
  * @author Humberto Tadeu de Paiva Gomes Fernandes
@@ -28,9 +56,26 @@ public class AlunoControllerTest {
     @LocalServerPort
     private int port;
 
+    @Autowired
+    private AlunoCache alunoCache;
+
+    @Autowired
+    private AlunoOutboxRepository alunoOutboxRepository;
+
+    @Autowired
+    private InMemoryOutboxSink outboxSink;
+
+    @Autowired
+    private AlunoSearchIndex alunoSearchIndex;
+
+    @Autowired
+    private BatchProperties batchProperties;
+
     @BeforeEach
     void setUp() {
         RestAssured.port = port;
+        alunoCache.evictAll();
+        outboxSink.clear();
     }
 
     @Test
@@ -45,6 +90,310 @@ public class AlunoControllerTest {
                         "idade", containsInAnyOrder(27, 28, 29, 57, 59));
     }
 
+    @Test
+    public void should_find_first_page_of_aluno_with_next_cursor() {
+        given()
+                .queryParam("limit", 2)
+                .get("/aluno")
+                .then()
+                .log().headers().and()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .header(AlunoController.NEXT_CURSOR_HEADER, equalTo("2"))
+                .body("id", contains(1, 2));
+    }
+
+    @Test
+    public void should_find_last_page_of_aluno_without_next_cursor() {
+        given()
+                .queryParam("after", 4)
+                .queryParam("limit", 2)
+                .get("/aluno")
+                .then()
+                .log().headers().and()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .header(AlunoController.NEXT_CURSOR_HEADER, nullValue())
+                .body("id", contains(5));
+    }
+
+    @Test
+    public void should_find_aluno_by_nome_prefix() {
+        given()
+                .queryParam("nome", "L")
+                .get("/aluno")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .body("nome", contains("Lourdes", "Lucas"));
+    }
+
+    @Test
+    public void should_find_aluno_by_idade_range_sorted_by_idade() {
+        given()
+                .queryParam("idadeMin", 28)
+                .queryParam("idadeMax", 57)
+                .queryParam("sort", "idade")
+                .get("/aluno")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .body("nome", contains("Thais", "Humberto", "Lourdes"));
+    }
+
+    @Test
+    public void should_page_aluno_sorted_by_idade_desc_with_next_cursor() {
+        given()
+                .queryParam("sort", "idade,desc")
+                .queryParam("limit", 2)
+                .get("/aluno")
+                .then()
+                .log().headers().and()
+                .statusCode(HttpStatus.OK.value())
+                .header(AlunoController.NEXT_CURSOR_HEADER, equalTo("57,4"))
+                .body("idade", contains(59, 57));
+
+        given()
+                .queryParam("sort", "idade,desc")
+                .queryParam("limit", 2)
+                .queryParam("after", "57,4")
+                .get("/aluno")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .body("idade", contains(29, 28));
+    }
+
+    @Test
+    public void should_page_aluno_sorted_by_nome_after_the_cursor_aluno_is_deleted() {
+        String cursor = given()
+                .queryParam("sort", "nome")
+                .queryParam("limit", 2)
+                .get("/aluno")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(AlunoController.NEXT_CURSOR_HEADER, equalTo("Lourdes,4"))
+                .body("nome", contains("Humberto", "Lourdes"))
+                .extract().header(AlunoController.NEXT_CURSOR_HEADER);
+
+        given()
+                .delete("/aluno/{id}", 4)
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+
+        given()
+                .queryParam("sort", "nome")
+                .queryParam("limit", 2)
+                .queryParam("after", cursor)
+                .get("/aluno")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .body("nome", contains("Lucas", "Rubens"));
+    }
+
+    @Test
+    public void should_send_sort_key_in_next_cursor_of_projections() {
+        given()
+                .queryParam("sort", "nome")
+                .queryParam("fields", "id")
+                .queryParam("limit", 2)
+                .get("/aluno")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .header(AlunoController.NEXT_CURSOR_HEADER, equalTo("Lourdes,4"))
+                .body("id", contains(1, 4),
+                        "[0]", not(hasKey("nome")),
+                        "[1]", not(hasKey("nome")));
+
+        given()
+                .queryParam("sort", "idade")
+                .queryParam("fields", "id")
+                .queryParam("limit", 2)
+                .get("/aluno")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .header(AlunoController.NEXT_CURSOR_HEADER, equalTo("28,2"))
+                .body("id", contains(5, 2),
+                        "[0]", not(hasKey("idade")),
+                        "[1]", not(hasKey("idade")));
+    }
+
+    @Test
+    public void should_return_error_when_cursor_is_invalid() {
+        given()
+                .queryParam("sort", "idade")
+                .queryParam("after", "vinte,1")
+                .get("/aluno")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .body("errors", hasItems(hasEntry("code", "aluno-10")));
+    }
+
+    @Test
+    public void should_sort_aluno_by_nome() {
+        given()
+                .queryParam("sort", "nome")
+                .get("/aluno")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .body("nome", contains("Humberto", "Lourdes", "Lucas", "Rubens", "Thais"));
+    }
+
+    @Test
+    public void should_return_error_when_sort_key_is_not_indexed() {
+        given()
+                .queryParam("sort", "versao")
+                .get("/aluno")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .body("errors", hasItems(hasEntry("code", "aluno-7")));
+    }
+
+    @Test
+    public void should_find_only_requested_fields_of_aluno() {
+        given()
+                .queryParam("fields", "id,nome")
+                .queryParam("limit", 2)
+                .get("/aluno")
+                .then()
+                .log().headers().and()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .header(AlunoController.NEXT_CURSOR_HEADER, equalTo("2"))
+                .body("id", contains(1, 2),
+                        "nome", contains("Humberto", "Thais"),
+                        "[0]", not(hasKey("idade")));
+    }
+
+    @Test
+    public void should_find_only_requested_fields_of_aluno_by_id() {
+        given()
+                .pathParam("id", 3L)
+                .queryParam("fields", "idade")
+                .get("/aluno/{id}")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, equalTo("\"0\""))
+                .body("id", equalTo(3),
+                        "idade", equalTo(59),
+                        "$", not(hasKey("nome")));
+    }
+
+    @Test
+    public void should_return_error_when_field_is_unknown() {
+        given()
+                .queryParam("fields", "id,versao")
+                .get("/aluno")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .body("errors", hasItems(hasEntry("code", "aluno-8")));
+    }
+
+    @Test
+    public void should_stream_all_aluno() {
+        given()
+                .get("/aluno/stream")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .body("id", contains(1, 2, 3, 4, 5),
+                        "nome", contains("Humberto", "Thais", "Rubens", "Lourdes", "Lucas"));
+    }
+
+    @Test
+    public void should_stream_all_aluno_as_smile() throws Exception {
+        byte[] body = given()
+                .accept(AlunoWireFormats.APPLICATION_SMILE_VALUE)
+                .get("/aluno/stream")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(AlunoWireFormats.APPLICATION_SMILE_VALUE)
+                .header(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT))
+                .extract().asByteArray();
+
+        List<Aluno> alunos = new ObjectMapper(new SmileFactory()).readValue(body, new TypeReference<List<Aluno>>() {
+        });
+        assertThat(alunos.stream().map(Aluno::getNome).collect(toList()),
+                contains("Humberto", "Thais", "Rubens", "Lourdes", "Lucas"));
+    }
+
+    @Test
+    public void should_findAll_aluno_as_cbor() throws Exception {
+        byte[] body = given()
+                .accept(MediaType.APPLICATION_CBOR_VALUE)
+                .get("/aluno")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(MediaType.APPLICATION_CBOR_VALUE)
+                .header(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT))
+                .extract().asByteArray();
+
+        List<Aluno> alunos = new ObjectMapper(new CBORFactory()).readValue(body, new TypeReference<List<Aluno>>() {
+        });
+        assertThat(alunos.stream().map(Aluno::getId).collect(toList()), containsInAnyOrder(1L, 2L, 3L, 4L, 5L));
+    }
+
+    @Test
+    public void should_create_and_find_aluno_as_cbor() throws Exception {
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+        Aluno aluno = new Aluno();
+        aluno.setNome("Maria");
+        aluno.setIdade(18);
+
+        byte[] created = given()
+                .contentType(MediaType.APPLICATION_CBOR_VALUE)
+                .accept(MediaType.APPLICATION_CBOR_VALUE)
+                .body(cbor.writeValueAsBytes(aluno))
+                .post("/aluno")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .contentType(MediaType.APPLICATION_CBOR_VALUE)
+                .extract().asByteArray();
+        Long id = cbor.readValue(created, Aluno.class).getId();
+
+        byte[] found = given()
+                .accept(MediaType.APPLICATION_CBOR_VALUE)
+                .pathParam("id", id)
+                .get("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().asByteArray();
+        Aluno foundAluno = cbor.readValue(found, Aluno.class);
+        assertThat(foundAluno.getNome(), equalTo("Maria"));
+        assertThat(foundAluno.getIdade(), equalTo(18));
+    }
+
+    @Test
+    public void should_keep_json_as_default_format() {
+        given()
+                .pathParam("id", 1L)
+                .get("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(ContentType.JSON)
+                .header(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    public void should_return_json_error_when_cbor_is_accepted() {
+        given()
+                .accept(MediaType.APPLICATION_CBOR_VALUE)
+                .pathParam("id", 99L)
+                .get("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value())
+                .contentType(ContentType.JSON)
+                .body("errors", hasItems(hasEntry("code", "aluno-5")));
+    }
+
     @Test
     public void should_find_aluno_by_id() {
         given()
@@ -58,6 +407,194 @@ public class AlunoControllerTest {
                         "idade", equalTo(29));
     }
 
+    @Test
+    public void should_return_not_modified_when_aluno_etag_matches() {
+        String etag = given()
+                .pathParam("id", 1L)
+                .get("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("ETag", equalTo("\"0\""))
+                .extract().header("ETag");
+
+        given()
+                .pathParam("id", 1L)
+                .header("If-None-Match", etag)
+                .get("/aluno/{id}")
+                .then()
+                .log().headers().and()
+                .statusCode(HttpStatus.NOT_MODIFIED.value())
+                .body(emptyOrNullString());
+    }
+
+    @Test
+    public void should_send_etag_specific_to_the_negotiated_format() {
+        String json = given()
+                .pathParam("id", 1L)
+                .get("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().header("ETag");
+        String cbor = given()
+                .accept(MediaType.APPLICATION_CBOR_VALUE)
+                .pathParam("id", 1L)
+                .get("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("ETag", equalTo("\"0-cbor\""))
+                .extract().header("ETag");
+
+        given()
+                .accept(MediaType.APPLICATION_CBOR_VALUE)
+                .pathParam("id", 1L)
+                .header("If-None-Match", json)
+                .get("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(MediaType.APPLICATION_CBOR_VALUE);
+
+        given()
+                .accept(MediaType.APPLICATION_CBOR_VALUE)
+                .pathParam("id", 1L)
+                .header("If-None-Match", cbor)
+                .get("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+    }
+
+    @Test
+    public void should_send_etag_specific_to_the_negotiated_format_for_pages() {
+        String json = given()
+                .get("/aluno")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().header("ETag");
+
+        given()
+                .accept(AlunoWireFormats.APPLICATION_SMILE_VALUE)
+                .header("If-None-Match", json)
+                .get("/aluno")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("ETag", not(equalTo(json)))
+                .contentType(AlunoWireFormats.APPLICATION_SMILE_VALUE);
+    }
+
+    @Test
+    public void should_accept_format_specific_etag_in_if_match() {
+        Aluno aluno = new Aluno();
+        aluno.setNome("Humberto");
+        aluno.setIdade(30);
+
+        given()
+                .pathParam("id", 1L)
+                .header("Content-type", ContentType.JSON)
+                .header("If-Match", "\"0-cbor\"")
+                .body(aluno)
+                .put("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("ETag", equalTo("\"1\""));
+    }
+
+    @Test
+    public void should_vary_projections_by_accept() {
+        given()
+                .pathParam("id", 1L)
+                .queryParam("fields", "nome")
+                .get("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT));
+
+        given()
+                .queryParam("fields", "nome")
+                .get("/aluno")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    public void should_reject_unsupported_accept() {
+        given()
+                .accept("text/csv")
+                .pathParam("id", 1L)
+                .get("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.NOT_ACCEPTABLE.value());
+    }
+
+    @Test
+    public void should_return_not_modified_when_page_etag_matches() {
+        String etag = given()
+                .get("/aluno")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().header("ETag");
+
+        given()
+                .header("If-None-Match", etag)
+                .get("/aluno")
+                .then()
+                .log().headers().and()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+    }
+
+    @Test
+    public void should_send_new_page_etag_when_an_aluno_of_the_page_is_deleted() {
+        String etag = given()
+                .queryParam("limit", 2)
+                .get("/aluno")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("id", contains(1, 2))
+                .extract().header("ETag");
+
+        given().pathParam("id", 2L).delete("/aluno/{id}").then().statusCode(HttpStatus.NO_CONTENT.value());
+
+        given()
+                .queryParam("limit", 2)
+                .header("If-None-Match", etag)
+                .get("/aluno")
+                .then()
+                .log().headers().and()
+                .statusCode(HttpStatus.OK.value())
+                .header("ETag", not(equalTo(etag)))
+                .body("id", contains(1, 3));
+    }
+
+    @Test
+    public void should_expose_cache_hits_when_finding_aluno_by_id_twice() {
+        given().pathParam("id", 1L).get("/aluno/{id}").then().statusCode(HttpStatus.OK.value());
+        given().pathParam("id", 1L).get("/aluno/{id}").then().statusCode(HttpStatus.OK.value());
+
+        given()
+                .queryParam("tag", "cache:aluno")
+                .queryParam("tag", "result:hit")
+                .get("/actuator/metrics/cache.gets")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .body("measurements[0].value", greaterThanOrEqualTo(1.0f));
+    }
+
+    @Test
+    public void should_expose_prometheus_metrics_for_endpoints_services_and_errors() {
+        given().pathParam("id", 10L).get("/aluno/{id}").then().statusCode(HttpStatus.NOT_FOUND.value());
+
+        given()
+                .get("/actuator/prometheus")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body(containsString("http_server_requests_seconds{"),
+                        containsString("aluno_service_seconds{"),
+                        containsString("api_errors_total{code=\"aluno-5\""),
+                        containsString("hikaricp_connections"),
+                        containsString("aluno_datasource_pool_saturation"),
+                        containsString("hibernate_"));
+    }
+
     @Test
     public void should_return_error_not_found_when_find_aluno_by_id() {
         given()
@@ -120,6 +657,114 @@ public class AlunoControllerTest {
                         "errors", hasItems(hasEntry("code", "aluno-4")));
     }
 
+    @Test
+    public void should_search_aluno_by_misspelled_nome() {
+        alunoSearchIndex.rebuild();
+
+        given()
+                .queryParam("q", "Lurdes")
+                .get("/aluno/search")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .body("nome[0]", equalTo("Lourdes"),
+                        "idade[0]", equalTo(57));
+    }
+
+    @Test
+    public void should_search_aluno_by_partial_nome_ignoring_case_and_accents() {
+        alunoSearchIndex.rebuild();
+
+        given()
+                .queryParam("q", "HÚMB")
+                .get("/aluno/search")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .body("nome", contains("Humberto"));
+    }
+
+    @Test
+    public void should_return_no_content_when_search_matches_nothing() {
+        alunoSearchIndex.rebuild();
+
+        given()
+                .queryParam("q", "Xavier")
+                .get("/aluno/search")
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+    }
+
+    @Test
+    public void should_search_aluno_created_after_index_was_built() throws InterruptedException {
+        alunoSearchIndex.rebuild();
+        Aluno aluno = new Aluno();
+        aluno.setNome("Joaquina");
+        aluno.setIdade(31);
+
+        given()
+                .request()
+                .header("Content-type", ContentType.JSON)
+                .body(aluno)
+                .when()
+                .post("/aluno")
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+
+        for (int attempt = 0; attempt < 100 && alunoSearchIndex.search("joaquina", 1, 1).length == 0; attempt++) {
+            Thread.sleep(50);
+        }
+
+        given()
+                .queryParam("q", "Joakina")
+                .get("/aluno/search")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .body("nome[0]", equalTo("Joaquina"));
+    }
+
+    @Test
+    public void should_relay_outbox_message_after_saving_a_aluno() throws InterruptedException {
+        Aluno aluno = new Aluno();
+        aluno.setNome("Outbox");
+        aluno.setIdade(10);
+
+        given()
+                .request()
+                .header("Content-type", ContentType.JSON)
+                .body(aluno)
+                .when()
+                .post("/aluno")
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+
+        awaitOutboxDrained();
+        List<OutboxMessage> messages = outboxMessagesFor("Outbox");
+        assertThat(messages.size(), equalTo(1));
+        assertThat(messages.get(0).getTipo(), equalTo("CREATED"));
+        assertThat(messages.get(0).getAlunoId(), equalTo(6L));
+    }
+
+    @Test
+    public void should_not_write_outbox_message_when_save_is_rolled_back() throws InterruptedException {
+        Aluno aluno = new Aluno();
+        aluno.setNome("Humberto");
+        aluno.setIdade(10);
+
+        given()
+                .request()
+                .header("Content-type", ContentType.JSON)
+                .body(aluno)
+                .when()
+                .post("/aluno")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+
+        awaitOutboxDrained();
+        assertThat(outboxMessagesFor("Humberto").isEmpty(), equalTo(true));
+    }
+
     @Test
     public void should_not_save_a_aluno_with_the_same_blank_nome() {
         Aluno aluno = new Aluno();
@@ -280,6 +925,64 @@ public class AlunoControllerTest {
                         "errors", hasItems(hasEntry("code", "generic-2")));
     }
 
+    @Test
+    public void should_save_a_batch_of_alunos_reporting_each_item() {
+        String json = "[{\"nome\": \"João\", \"idade\": 10},"
+                + "{\"nome\": \"Humberto\", \"idade\": 30},"
+                + "{\"nome\": \"\", \"idade\": 5},"
+                + "{\"nome\": \"Maria\", \"idade\": 20},"
+                + "{\"nome\": \"João\", \"idade\": 11}]";
+
+        given()
+                .request()
+                .header("Accept", ContentType.ANY)
+                .header("Content-type", ContentType.JSON)
+                .body(json)
+                .when()
+                .post("/aluno/batch")
+                .then()
+                .log().body()
+                .and()
+                .statusCode(HttpStatus.OK.value())
+                .body("index", contains(0, 1, 2, 3, 4),
+                        "statusCode", contains(201, 400, 400, 201, 400),
+                        "id", contains(6, null, null, 7, null),
+                        "[1].errors", contains("aluno-4"),
+                        "[2].errors", contains("aluno-1"),
+                        "[4].errors", contains("aluno-4"));
+    }
+
+    @Test
+    public void should_reject_null_items_of_a_batch() {
+        given()
+                .header("Content-type", ContentType.JSON)
+                .body("[{\"nome\": \"João\", \"idade\": 10}, null]")
+                .post("/aluno/batch")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("statusCode", contains(201, 400),
+                        "[1].errors", contains("aluno-9"));
+    }
+
+    @Test
+    public void should_save_a_batch_of_alunos_from_ndjson() {
+        String ndjson = "{\"nome\": \"João\", \"idade\": 10}\n{\"nome\": \"Maria\", \"idade\": 20}\n";
+
+        given()
+                .request()
+                .header("Accept", ContentType.ANY)
+                .header("Content-type", AlunoController.APPLICATION_NDJSON_VALUE)
+                .body(ndjson.getBytes(StandardCharsets.UTF_8))
+                .when()
+                .post("/aluno/batch")
+                .then()
+                .log().body()
+                .and()
+                .statusCode(HttpStatus.OK.value())
+                .body("statusCode", contains(201, 201),
+                        "id", contains(6, 7));
+    }
+
     @Test
     public void should_update_a_aluno() {
         Aluno aluno = new Aluno();
@@ -305,6 +1008,51 @@ public class AlunoControllerTest {
                         "idade", equalTo(10));
     }
 
+    @Test
+    public void should_update_a_aluno_when_if_match_is_current_version() {
+        Aluno aluno = new Aluno();
+        aluno.setNome("João");
+        aluno.setIdade(10);
+
+        given()
+                .pathParam("id", 1L)
+                .request()
+                .header("Accept", ContentType.ANY)
+                .header("Content-type", ContentType.JSON)
+                .header("If-Match", "\"0\"")
+                .body(aluno)
+                .when()
+                .put("/aluno/{id}")
+                .then()
+                .log().headers()
+                .and()
+                .statusCode(HttpStatus.OK.value())
+                .header("ETag", equalTo("\"1\""));
+    }
+
+    @Test
+    public void should_not_update_a_aluno_when_if_match_is_stale() {
+        Aluno aluno = new Aluno();
+        aluno.setNome("João");
+        aluno.setIdade(10);
+
+        given()
+                .pathParam("id", 1L)
+                .request()
+                .header("Accept", ContentType.ANY)
+                .header("Content-type", ContentType.JSON)
+                .header("If-Match", "\"5\"")
+                .body(aluno)
+                .when()
+                .put("/aluno/{id}")
+                .then()
+                .log().body()
+                .and()
+                .statusCode(HttpStatus.PRECONDITION_FAILED.value())
+                .body("statusCode", equalTo(412),
+                        "errors", hasItems(hasEntry("code", "aluno-6")));
+    }
+
     @Test
     public void should_not_update_two_alunos_with_the_same_nome() {
         Aluno aluno = new Aluno();
@@ -539,6 +1287,63 @@ public class AlunoControllerTest {
                 .statusCode(HttpStatus.NO_CONTENT.value());
     }
 
+    @Test
+    public void should_delete_many_alunos() {
+        given()
+                .queryParam("ids", "1,2")
+                .request()
+                .header("Accept", ContentType.ANY)
+                .when()
+                .delete("/aluno")
+                .then()
+                .log().headers()
+                .and()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+
+        given()
+                .get("/aluno")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("id", contains(3, 4, 5));
+    }
+
+    @Test
+    public void should_reject_deleting_more_alunos_than_the_limit() {
+        String ids = LongStream.rangeClosed(1, batchProperties.getMaxDeleteIds() + 1L)
+                .mapToObj(String::valueOf)
+                .collect(joining(","));
+
+        given()
+                .queryParam("ids", ids)
+                .delete("/aluno")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .body("errors", hasItems(hasEntry("code", "aluno-11")));
+
+        given()
+                .get("/aluno")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("id", contains(1, 2, 3, 4, 5));
+    }
+
+    @Test
+    public void should_not_delete_a_aluno_when_if_match_is_stale() {
+        given()
+                .pathParam("id", 1L)
+                .request()
+                .header("Accept", ContentType.ANY)
+                .header("If-Match", "\"5\"")
+                .when()
+                .delete("/aluno/{id}")
+                .then()
+                .log().body()
+                .and()
+                .statusCode(HttpStatus.PRECONDITION_FAILED.value())
+                .body("errors", hasItems(hasEntry("code", "aluno-6")));
+    }
+
     @Test
     public void should_not_delete_a_aluno_not_exist() {
         given()
@@ -558,4 +1363,17 @@ public class AlunoControllerTest {
                         "reasonPhrase", equalTo("Not Found"),
                         "errors", hasItems(hasEntry("code", "aluno-5")));
     }
+
+    private void awaitOutboxDrained() throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && alunoOutboxRepository.count() > 0; attempt++) {
+            Thread.sleep(50);
+        }
+        assertThat(alunoOutboxRepository.count(), equalTo(0L));
+    }
+
+    private List<OutboxMessage> outboxMessagesFor(String nome) {
+        return outboxSink.getMessages().stream()
+                .filter(message -> message.getPayload().contains("\"" + nome + "\""))
+                .collect(toList());
+    }
 }
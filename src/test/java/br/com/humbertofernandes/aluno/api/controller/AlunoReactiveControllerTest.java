@@ -0,0 +1,106 @@
+package br.com.humbertofernandes.aluno.api.controller;
+
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+
+/**
+ * A leitura reativa precisa do mesmo banco pelo JDBC (Flyway e scripts de carga) e pelo R2DBC,
+ * por isso estes testes usam H2 em memória em vez do HSQL dos demais.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+@Sql(value = "/load-database.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = "/clean-database.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1",
+        "spring.flyway.locations=classpath:db/migration/h2",
+        "aluno.r2dbc.url=r2dbc:h2:mem:///reactive?options=DB_CLOSE_DELAY=-1",
+        "aluno.r2dbc.username=sa",
+        "aluno.r2dbc.password=",
+        "aluno.pagination.max-size=4"})
+public class AlunoReactiveControllerTest {
+    @LocalServerPort
+    private int port;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+    }
+
+    @Test
+    public void should_stream_aluno_as_ndjson() {
+        String body = given()
+                .accept(AlunoController.APPLICATION_NDJSON_VALUE)
+                .get("/v2/aluno")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(startsWith(AlunoController.APPLICATION_NDJSON_VALUE))
+                .extract().asString();
+
+        List<String> lines = Arrays.asList(body.split("\n"));
+        assertThat(lines.size(), equalTo(5));
+        assertThat(lines.get(0), equalTo("{\"id\":1,\"nome\":\"Humberto\",\"idade\":29}"));
+    }
+
+    @Test
+    public void should_stream_aluno_after_cursor_with_limit() {
+        String body = given()
+                .accept(AlunoController.APPLICATION_NDJSON_VALUE)
+                .queryParam("after", 2)
+                .queryParam("limit", 2)
+                .get("/v2/aluno")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().asString();
+
+        assertThat(Arrays.asList(body.split("\n")), contains(
+                "{\"id\":3,\"nome\":\"Rubens\",\"idade\":59}",
+                "{\"id\":4,\"nome\":\"Lourdes\",\"idade\":57}"));
+    }
+
+    @Test
+    public void should_cap_limit_at_pagination_max_size() {
+        String body = given()
+                .accept(AlunoController.APPLICATION_NDJSON_VALUE)
+                .queryParam("limit", 1_000_000)
+                .get("/v2/aluno")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().asString();
+
+        assertThat(body.split("\n").length, equalTo(4));
+    }
+
+    @Test
+    public void should_stream_aluno_as_server_sent_events() {
+        given()
+                .accept(MediaType.TEXT_EVENT_STREAM_VALUE)
+                .queryParam("limit", 1)
+                .get("/v2/aluno")
+                .then()
+                .log().body().and()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(startsWith(MediaType.TEXT_EVENT_STREAM_VALUE))
+                .body(containsString("data:{\"id\":1,\"nome\":\"Humberto\",\"idade\":29}"));
+    }
+}
@@ -0,0 +1,200 @@
+package br.com.humbertofernandes.aluno.api.controller;
+
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Fluxo de CRUD do {@link AlunoControllerTest} contra a aplicação empacotada, iniciada como processo separado pelo
+ * comando em {@code -Daluno.smoke.command}: o executável nativo no perfil Maven {@code native}, ou
+ * {@code java -jar target/aluno-api-0.0.1-SNAPSHOT.jar} para comparar com a JVM. Ao final imprime o tempo até a
+ * aplicação responder e a memória residente (RSS) do processo. Sem o comando o teste é ignorado.
+ *
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public class AlunoSmokeIT {
+
+    private static final String COMMAND = "aluno.smoke.command";
+    private static final long STARTUP_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    private static Process process;
+    private static String command;
+    private static long startupMillis;
+    private static long startupRssKb;
+
+    @BeforeAll
+    static void start() throws Exception {
+        command = System.getProperty(COMMAND, "").trim();
+        assumeTrue(!command.isEmpty(), "Set -D" + COMMAND + " to the native executable or the java -jar command");
+
+        int port = freePort();
+        List<String> args = new ArrayList<>(Arrays.asList(command.split("\\s+")));
+        args.add("--server.port=" + port);
+        args.add("--spring.datasource.url=jdbc:h2:mem:smoke;DB_CLOSE_DELAY=-1");
+        args.add("--aluno.r2dbc.url=r2dbc:h2:mem:///smoke?options=DB_CLOSE_DELAY=-1");
+        args.add("--spring.jpa.hibernate.ddl-auto=none");
+        args.add("--aluno.swagger.enabled=false");
+
+        long begin = System.nanoTime();
+        process = new ProcessBuilder(args)
+                .redirectErrorStream(true)
+                .redirectOutput(new File("target", "smoke.log"))
+                .start();
+        awaitHealthy(port);
+        startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        startupRssKb = rssKb();
+
+        RestAssured.port = port;
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        if (process == null) {
+            return;
+        }
+
+        System.out.printf("%s: ready in %d ms, RSS %d MB after startup and %d MB after the CRUD flow%n",
+                command, startupMillis, startupRssKb / 1024, rssKb() / 1024);
+        process.destroy();
+        process.waitFor(30, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void should_run_crud_flow() {
+        Aluno aluno = new Aluno();
+        aluno.setNome("João");
+        aluno.setIdade(10);
+
+        int id = given()
+                .header("Content-type", ContentType.JSON)
+                .body(aluno)
+                .post("/aluno")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .body("nome", equalTo("João"), "idade", equalTo(10))
+                .extract().path("id");
+
+        given()
+                .pathParam("id", id)
+                .get("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("id", equalTo(id), "nome", equalTo("João"));
+
+        aluno.setIdade(11);
+        given()
+                .pathParam("id", id)
+                .header("Content-type", ContentType.JSON)
+                .body(aluno)
+                .put("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("idade", equalTo(11));
+
+        given()
+                .pathParam("id", id)
+                .delete("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+
+        given()
+                .pathParam("id", id)
+                .header("Accept-Language", "pt-BR")
+                .get("/aluno/{id}")
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value())
+                .body("statusCode", equalTo(404),
+                        "errors", hasItems(hasEntry("code", "aluno-5")),
+                        "errors", hasItems(hasEntry("message", "Aluno não encontrado")));
+    }
+
+    @Test
+    public void should_reject_invalid_aluno() {
+        Aluno aluno = new Aluno();
+        aluno.setIdade(10);
+
+        given()
+                .header("Content-type", ContentType.JSON)
+                .body(aluno)
+                .post("/aluno")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .body("errors", hasItems(hasEntry("code", "aluno-1")));
+    }
+
+    private static void awaitHealthy(int port) throws Exception {
+        URL health = new URL("http://localhost:" + port + "/actuator/health");
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+
+        while (System.currentTimeMillis() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see target/smoke.log");
+            }
+            try {
+                HttpURLConnection connection = (HttpURLConnection) health.openConnection();
+                if (connection.getResponseCode() == HttpStatus.OK.value()) {
+                    return;
+                }
+            } catch (IOException notYet) {
+                // ainda subindo
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Application did not start in " + STARTUP_TIMEOUT_MILLIS + " ms");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * VmRSS de {@code /proc}; zero fora do Linux.
+     */
+    private static long rssKb() throws Exception {
+        Path status = Paths.get("/proc", String.valueOf(pid()), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElse(0L);
+    }
+
+    private static long pid() throws Exception {
+        try {
+            return (Long) Process.class.getMethod("pid").invoke(process);
+        } catch (NoSuchMethodException java8) {
+            Field pid = process.getClass().getDeclaredField("pid");
+            pid.setAccessible(true);
+            return pid.getLong(process);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.humbertofernandes.aluno.api.event.listener;
+
+import br.com.humbertofernandes.aluno.api.config.EventProperties;
+import br.com.humbertofernandes.aluno.api.event.AlunoDeletedEvent;
+import br.com.humbertofernandes.aluno.api.event.AlunoEventHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public class AlunoEventDispatcherTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private AlunoEventDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.destroy();
+    }
+
+    @Test
+    void should_deliver_events_in_order_and_in_batches() throws InterruptedException {
+        List<Long> delivered = new CopyOnWriteArrayList<>();
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(10);
+        dispatcher = dispatcher(100, 4, events -> {
+            batchSizes.add(events.size());
+            events.forEach(event -> {
+                delivered.add(event.getId());
+                latch.countDown();
+            });
+        });
+
+        for (long id = 1; id <= 10; id++) {
+            dispatcher.onApplicationEvent(new AlunoDeletedEvent(this, id));
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS), equalTo(true));
+        // o lote só é contado depois que os handlers retornam: parar o worker garante que o último foi contado
+        dispatcher.destroy();
+        assertThat(delivered, contains(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L));
+        batchSizes.forEach(size -> assertThat(size, lessThanOrEqualTo(4)));
+        assertThat(registry.counter("aluno.events.dispatched").count(), equalTo(10.0));
+    }
+
+    @Test
+    void should_make_publisher_wait_when_queue_is_full_and_keep_order() throws Exception {
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> delivered = new CopyOnWriteArrayList<>();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        dispatcher = dispatcher(1, 1, events -> {
+            threads.add(Thread.currentThread().getName());
+            events.forEach(event -> delivered.add(event.getId()));
+            if (events.get(0).getId() == 1L) {
+                workerBusy.countDown();
+                await(release);
+            }
+        });
+
+        dispatcher.onApplicationEvent(new AlunoDeletedEvent(this, 1L));
+        assertThat(workerBusy.await(5, TimeUnit.SECONDS), equalTo(true));
+        dispatcher.onApplicationEvent(new AlunoDeletedEvent(this, 2L));
+
+        ExecutorService publisher = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> blocked = publisher.submit(() -> dispatcher.onApplicationEvent(new AlunoDeletedEvent(this, 3L)));
+            assertThrows(TimeoutException.class, () -> blocked.get(100, TimeUnit.MILLISECONDS));
+
+            release.countDown();
+            blocked.get(5, TimeUnit.SECONDS);
+        } finally {
+            publisher.shutdownNow();
+        }
+        dispatcher.destroy();
+
+        assertThat(delivered, contains(1L, 2L, 3L));
+        assertThat(threads, everyItem(equalTo("aluno-events")));
+        assertThat(registry.counter("aluno.events.overflow").count(), greaterThanOrEqualTo(1.0));
+        assertThat(registry.counter("aluno.events.dropped").count(), equalTo(0.0));
+        assertThat(registry.counter("aluno.events.dispatched").count(), equalTo(3.0));
+    }
+
+    private AlunoEventDispatcher dispatcher(int queueCapacity, int batchSize, AlunoEventHandler handler) {
+        EventProperties properties = new EventProperties();
+        properties.setQueueCapacity(queueCapacity);
+        properties.setBatchSize(batchSize);
+        properties.setOfferTimeout(Duration.ofMillis(20));
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("handler", handler);
+        return new AlunoEventDispatcher(beanFactory.getBeanProvider(AlunoEventHandler.class), properties, registry);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
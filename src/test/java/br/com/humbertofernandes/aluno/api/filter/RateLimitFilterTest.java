@@ -0,0 +1,154 @@
+package br.com.humbertofernandes.aluno.api.filter;
+
+import br.com.humbertofernandes.aluno.api.config.ApiErrorConfig;
+import br.com.humbertofernandes.aluno.api.config.RateLimitProperties;
+import br.com.humbertofernandes.aluno.api.handle.ApiExceptionHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public class RateLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong clock = new AtomicLong();
+    private MeterRegistry registry;
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        properties = new RateLimitProperties();
+        properties.setCapacity(2);
+        properties.setRefillPerSecond(0.5);
+        properties.setMaxConcurrent(1);
+        properties.setOverloadRetryAfter(Duration.ofSeconds(3));
+    }
+
+    @Test
+    public void should_reject_client_over_its_rate_with_retry_after() throws Exception {
+        RateLimitFilter filter = filter();
+
+        assertThat(call(filter, "10.0.0.1").getStatus(), equalTo(200));
+        assertThat(call(filter, "10.0.0.1").getStatus(), equalTo(200));
+        MockHttpServletResponse response = call(filter, "10.0.0.1");
+
+        assertThat(response.getStatus(), equalTo(429));
+        assertThat(response.getHeader("Retry-After"), equalTo("2"));
+        JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+        assertThat(body.get("statusCode").asInt(), equalTo(429));
+        assertThat(body.get("errors").get(0).get("code").asText(), equalTo(RateLimitFilter.TOO_MANY_REQUESTS));
+        assertThat(registry.counter("aluno.ratelimit.rejected", "reason", "client").count(), equalTo(1.0));
+
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertThat(call(filter, "10.0.0.1").getStatus(), equalTo(200));
+    }
+
+    @Test
+    public void should_keep_a_bucket_per_client() throws Exception {
+        RateLimitFilter filter = filter();
+
+        call(filter, "10.0.0.1");
+        call(filter, "10.0.0.1");
+
+        assertThat(call(filter, "10.0.0.1").getStatus(), equalTo(429));
+        assertThat(call(filter, "10.0.0.2").getStatus(), equalTo(200));
+    }
+
+    @Test
+    public void should_ignore_client_header_from_untrusted_address() throws Exception {
+        RateLimitFilter filter = filter();
+
+        assertThat(callWithHeader(filter, "10.0.0.1", "x").getStatus(), equalTo(200));
+        assertThat(callWithHeader(filter, "10.0.0.1", "y").getStatus(), equalTo(200));
+        assertThat(callWithHeader(filter, "10.0.0.1", "z").getStatus(), equalTo(429));
+    }
+
+    @Test
+    public void should_use_client_header_behind_trusted_proxy() throws Exception {
+        properties.getTrustedProxies().add("10.0.0.254");
+        RateLimitFilter filter = filter();
+
+        callWithHeader(filter, "10.0.0.254", "x");
+        callWithHeader(filter, "10.0.0.254", "x");
+
+        assertThat(callWithHeader(filter, "10.0.0.254", "x").getStatus(), equalTo(429));
+        assertThat(callWithHeader(filter, "10.0.0.254", "y").getStatus(), equalTo(200));
+    }
+
+    @Test
+    public void should_shed_load_when_concurrency_is_exhausted() throws Exception {
+        RateLimitFilter filter = filter();
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        FilterChain chain = (req, res) -> nested[0] = call(filter, "10.0.0.2");
+
+        MockHttpServletResponse outer = call(filter, "10.0.0.1", chain);
+
+        assertThat(outer.getStatus(), equalTo(200));
+        assertThat(nested[0].getStatus(), equalTo(503));
+        assertThat(nested[0].getHeader("Retry-After"), equalTo("3"));
+        JsonNode body = objectMapper.readTree(nested[0].getContentAsByteArray());
+        assertThat(body.get("errors").get(0).get("code").asText(), equalTo(RateLimitFilter.OVERLOADED));
+        assertThat(registry.counter("aluno.ratelimit.rejected", "reason", "overload").count(), equalTo(1.0));
+        assertThat(registry.get("aluno.ratelimit.inflight").gauge().value(), equalTo(0.0));
+    }
+
+    @Test
+    public void should_not_limit_other_paths() throws Exception {
+        RateLimitFilter filter = filter();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertThat(response.getStatus(), equalTo(200));
+        }
+    }
+
+    private RateLimitFilter filter() {
+        ApiErrorConfig config = new ApiErrorConfig();
+        ApiExceptionHandler handler = new ApiExceptionHandler(
+                config.apiErrorCatalog(config.apiErrorMessageSource(), objectMapper), registry);
+        return new RateLimitFilter(properties, handler, registry, clock::get);
+    }
+
+    private MockHttpServletResponse call(RateLimitFilter filter, String client) throws ServletException, IOException {
+        return call(filter, client, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse call(RateLimitFilter filter, String client, FilterChain chain)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/aluno");
+        request.setRemoteAddr(client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private MockHttpServletResponse callWithHeader(RateLimitFilter filter, String remoteAddr, String client)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/aluno");
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader("X-Client-Id", client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
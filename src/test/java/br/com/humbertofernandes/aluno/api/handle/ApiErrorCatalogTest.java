@@ -0,0 +1,73 @@
+package br.com.humbertofernandes.aluno.api.handle;
+
+import br.com.humbertofernandes.aluno.api.config.ApiErrorConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.MessageSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.http.HttpStatus;
+
+import java.util.Locale;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public class ApiErrorCatalogTest {
+
+    private static final Locale PT_BR = new Locale("pt", "BR");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MessageSource messageSource;
+    private ApiErrorCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        ApiErrorConfig config = new ApiErrorConfig();
+        messageSource = config.apiErrorMessageSource();
+        catalog = new ApiErrorCatalog(messageSource, "api_errors", objectMapper);
+    }
+
+    @Test
+    public void should_resolve_every_code_like_the_message_source() throws Exception {
+        for (String code : PropertiesLoaderUtils.loadProperties(new ClassPathResource("api_errors.properties"))
+                .stringPropertyNames()) {
+            for (Locale locale : new Locale[]{PT_BR, Locale.US, Locale.FRANCE, Locale.ROOT}) {
+                JsonNode apiError = objectMapper.valueToTree(catalog.apiError(code, locale));
+
+                assertThat(code + " " + locale, apiError.get("message").asText(),
+                        equalTo(messageSource.getMessage(code, null, locale)));
+            }
+        }
+    }
+
+    @Test
+    public void should_format_arguments() {
+        JsonNode apiError = objectMapper.valueToTree(catalog.apiError("generic-1", PT_BR, "19#"));
+
+        assertThat(apiError.get("message").asText(), equalTo("19# é inválido"));
+    }
+
+    @Test
+    public void should_answer_missing_code_without_message() {
+        JsonNode apiError = objectMapper.valueToTree(catalog.apiError("missing-1", PT_BR));
+
+        assertThat(apiError.get("code").asText(), equalTo("missing-1"));
+        assertThat(apiError.get("message").asText(), equalTo(ApiErrorCatalog.NO_MESSAGE_AVAILABLE));
+    }
+
+    @Test
+    public void should_reuse_serialized_error_response() throws Exception {
+        byte[] first = catalog.errorResponse(HttpStatus.NOT_FOUND, "aluno-5", PT_BR);
+
+        assertThat(catalog.errorResponse(HttpStatus.NOT_FOUND, "aluno-5", PT_BR), sameInstance(first));
+        assertThat(objectMapper.readTree(first), equalTo(objectMapper.valueToTree(
+                ErrorResponse.of(HttpStatus.NOT_FOUND, catalog.apiError("aluno-5", PT_BR)))));
+    }
+}
@@ -1,17 +1,33 @@
 package br.com.humbertofernandes.aluno.api.repository;
 
 import br.com.humbertofernandes.aluno.api.model.Aluno;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 
 
@@ -28,6 +44,9 @@ public class AlunoRepositoryTest {
     @Autowired
     private AlunoRepository alunoRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Test
     public void should_find_aluno_by_name() {
         Optional<Aluno> alunoSaved = alunoRepository.findByNome("Humberto");
@@ -44,4 +63,107 @@ public class AlunoRepositoryTest {
         Optional<Aluno> alunoSaved = alunoRepository.findByNome("João");
         assertThat(alunoSaved.isPresent(), equalTo(Boolean.FALSE));
     }
+
+    @Test
+    public void should_find_alunos_after_id_ordered_by_id() {
+        List<Aluno> alunos = alunoRepository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 2));
+
+        assertThat(alunos.size(), equalTo(2));
+        assertThat(alunos.get(0).getId(), equalTo(3L));
+        assertThat(alunos.get(1).getId(), equalTo(4L));
+    }
+
+    @Test
+    public void should_find_alunos_by_names() {
+        List<Aluno> alunos = alunoRepository.findByNomeIn(Arrays.asList("Humberto", "Thais", "João"));
+
+        assertThat(alunos.size(), equalTo(2));
+    }
+
+    @Test
+    public void should_insert_all_alunos_in_batch() {
+        Aluno joao = new Aluno();
+        joao.setNome("João");
+        joao.setIdade(10);
+        Aluno maria = new Aluno();
+        maria.setNome("Maria");
+        maria.setIdade(20);
+
+        alunoRepository.insertAll(Arrays.asList(joao, maria));
+
+        assertThat(alunoRepository.findByNomeIn(Arrays.asList("João", "Maria")).size(), equalTo(2));
+    }
+
+    @Test
+    public void should_update_aluno_by_id_incrementing_version() {
+        int updated = alunoRepository.updateById(1L, "João", 10);
+
+        assertThat(updated, equalTo(1));
+        assertThat(alunoRepository.findVersaoById(1L), equalTo(Optional.of(1L)));
+    }
+
+    @Test
+    public void should_not_update_aluno_by_id_with_stale_version() {
+        int updated = alunoRepository.updateByIdAndVersao(1L, 5L, "João", 10);
+
+        assertThat(updated, equalTo(0));
+    }
+
+    @Test
+    public void should_find_only_existing_ids() {
+        List<Long> ids = alunoRepository.findIdByIdIn(Arrays.asList(1L, 2L, 10L));
+
+        assertThat(ids, containsInAnyOrder(1L, 2L));
+    }
+
+    @Test
+    public void should_delete_alunos_by_ids() {
+        int deleted = alunoRepository.deleteAlunoByIdIn(Arrays.asList(1L, 2L, 10L));
+
+        assertThat(deleted, equalTo(2));
+        assertThat(alunoRepository.existsById(1L), equalTo(Boolean.FALSE));
+    }
+
+    @Test
+    public void should_find_alunos_by_specification_after_cursor() {
+        Aluno cursor = alunoRepository.findById(2L).get();
+        Specification<Aluno> specification = Specification
+                .where(AlunoSpecifications.idadeLessThanOrEqualTo(57))
+                .and(AlunoSpecifications.after("idade", Sort.Direction.ASC, cursor));
+
+        List<Aluno> alunos = alunoRepository.findAll(specification, Sort.by("idade", "id"), 2);
+
+        assertThat(alunos.size(), equalTo(2));
+        assertThat(alunos.get(0).getNome(), equalTo("Humberto"));
+        assertThat(alunos.get(1).getNome(), equalTo("Lourdes"));
+    }
+
+    @Test
+    public void should_escape_like_wildcards_in_nome_prefix() {
+        List<Aluno> alunos = alunoRepository.findAll(AlunoSpecifications.nomeStartsWith("%"), Sort.by("id"), 10);
+
+        assertThat(alunos.isEmpty(), equalTo(Boolean.TRUE));
+    }
+
+    /**
+     * Sem a transação do teste: o estado da sessão é lido pela especificação, durante a consulta, portanto dentro
+     * da transação aberta pelo próprio repositório.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void should_load_read_only_alunos_in_read_only_transaction() {
+        List<Object> state = new ArrayList<>();
+        Specification<Aluno> capture = (root, query, builder) -> {
+            Session session = entityManager.unwrap(Session.class);
+            state.add(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            state.add(session.getHibernateFlushMode());
+            state.add(session.isDefaultReadOnly());
+            return null;
+        };
+
+        List<Aluno> alunos = alunoRepository.findAll(capture, Sort.by("idade"), 2);
+
+        assertThat(alunos.size(), equalTo(2));
+        assertThat(state, contains(Boolean.TRUE, FlushMode.MANUAL, Boolean.TRUE));
+    }
 }
@@ -0,0 +1,159 @@
+package br.com.humbertofernandes.aluno.api.service;
+
+import br.com.humbertofernandes.aluno.api.config.AlunoCacheProperties;
+import br.com.humbertofernandes.aluno.api.event.AlunoCreatedEvent;
+import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.repository.AlunoRepository;
+import br.com.humbertofernandes.aluno.api.service.cache.AlunoCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.validation.Validation;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public class AlunoBatchServiceTest {
+
+    @Mock
+    private AlunoRepository alunoRepository;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, Aluno> database = new LinkedHashMap<>();
+    private AlunoCache alunoCache;
+    private AlunoBatchService alunoBatchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        alunoCache = new AlunoCache(new AlunoCacheProperties());
+        alunoBatchService = new AlunoBatchService(alunoRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(), alunoCache, publisher, transactionManager);
+
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            TransactionSynchronizationManager.initSynchronization();
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> {
+            try {
+                TransactionSynchronizationUtils.triggerAfterCommit();
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            return null;
+        }).when(transactionManager).commit(any());
+        doAnswer(invocation -> {
+            TransactionSynchronizationManager.clearSynchronization();
+            return null;
+        }).when(transactionManager).rollback(any());
+
+        when(alunoRepository.findByNomeIn(any())).thenAnswer(invocation -> {
+            Collection<String> nomes = invocation.getArgument(0);
+            return nomes.stream().filter(database::containsKey).map(database::get).collect(toList());
+        });
+        doAnswer(invocation -> {
+            List<Aluno> alunos = invocation.getArgument(0);
+            alunos.forEach(aluno -> insert(aluno.getNome()));
+            return null;
+        }).when(alunoRepository).insertAll(anyList());
+    }
+
+    @Test
+    public void should_retry_item_by_item_when_a_nome_is_inserted_concurrently() {
+        AtomicBoolean concurrentInsert = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (concurrentInsert.getAndSet(false)) {
+                insert("Thais");
+                throw new DuplicateKeyException("uk_aluno_nome");
+            }
+            List<Aluno> alunos = invocation.getArgument(0);
+            alunos.forEach(aluno -> insert(aluno.getNome()));
+            return null;
+        }).when(alunoRepository).insertAll(anyList());
+
+        List<AlunoBatchResult> results = alunoBatchService.saveAll(10, Arrays.asList(aluno("Humberto"), aluno("Thais")));
+
+        assertThat(results.stream().map(AlunoBatchResult::getIndex).collect(toList()), contains(10, 11));
+        assertThat(results.stream().map(AlunoBatchResult::getStatusCode).collect(toList()), contains(201, 400));
+        assertThat(results.get(1).getErrors(), contains("aluno-4"));
+    }
+
+    @Test
+    public void should_reject_null_items() {
+        List<AlunoBatchResult> results = alunoBatchService.saveAll(0, Arrays.asList(aluno("Humberto"), null));
+
+        assertThat(results.get(0).getStatusCode(), equalTo(201));
+        assertThat(results.get(1).getStatusCode(), equalTo(400));
+        assertThat(results.get(1).getErrors(), contains(AlunoBatchService.MISSING_ALUNO));
+    }
+
+    @Test
+    public void should_evict_created_alunos_from_cache_only_after_commit() {
+        alunoCache.putLoaded(1L, Optional.empty(), alunoCache.evictions());
+        doAnswer(invocation -> {
+            assertThat(alunoCache.getIfPresent(1L), equalTo(Optional.empty()));
+            return null;
+        }).when(publisher).publishEvent(any(AlunoCreatedEvent.class));
+
+        alunoBatchService.saveAll(0, Arrays.asList(aluno("Humberto")));
+
+        assertThat(alunoCache.getIfPresent(1L), nullValue());
+    }
+
+    @Test
+    public void should_keep_cache_untouched_when_chunk_rolls_back() {
+        alunoCache.putLoaded(1L, Optional.empty(), alunoCache.evictions());
+        doAnswer(invocation -> {
+            throw new IllegalStateException();
+        }).when(publisher).publishEvent(any(AlunoCreatedEvent.class));
+
+        assertThrows(IllegalStateException.class,
+                () -> alunoBatchService.saveAll(0, Arrays.asList(aluno("Humberto"))));
+
+        assertThat(alunoCache.getIfPresent(1L), equalTo(Optional.empty()));
+    }
+
+    private void insert(String nome) {
+        Aluno saved = aluno(nome);
+        saved.setId((long) database.size() + 1);
+        database.put(nome, saved);
+    }
+
+    private static Aluno aluno(String nome) {
+        Aluno aluno = new Aluno();
+        aluno.setNome(nome);
+        aluno.setIdade(20);
+        return aluno;
+    }
+}
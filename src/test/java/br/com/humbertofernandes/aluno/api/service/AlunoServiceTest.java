@@ -1,23 +1,58 @@
 package br.com.humbertofernandes.aluno.api.service;
 
+import br.com.humbertofernandes.aluno.api.config.AlunoCacheProperties;
+import br.com.humbertofernandes.aluno.api.config.AlunoLoaderProperties;
+import br.com.humbertofernandes.aluno.api.event.AlunoCreatedEvent;
+import br.com.humbertofernandes.aluno.api.event.AlunoDeletedEvent;
+import br.com.humbertofernandes.aluno.api.event.AlunoUpdatedEvent;
 import br.com.humbertofernandes.aluno.api.model.Aluno;
+import br.com.humbertofernandes.aluno.api.model.AlunoView;
 import br.com.humbertofernandes.aluno.api.repository.AlunoRepository;
+import br.com.humbertofernandes.aluno.api.service.cache.AlunoCache;
+import br.com.humbertofernandes.aluno.api.service.cache.AlunoLoader;
 import br.com.humbertofernandes.aluno.api.service.exception.AlunoAlreadyExistsException;
+import br.com.humbertofernandes.aluno.api.service.exception.AlunoFieldNotSupportedException;
 import br.com.humbertofernandes.aluno.api.service.exception.AlunoNotFoundException;
+import br.com.humbertofernandes.aluno.api.service.exception.AlunoVersionMismatchException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -39,14 +74,21 @@ public class AlunoServiceTest {
     private Aluno alunoInDatabase;
 
     private AlunoService alunoService;
+    private AlunoCache alunoCache;
+    private final MeterRegistry registry = new SimpleMeterRegistry();
 
     @MockBean
     private AlunoRepository alunoRepositoryMocked;
 
+    @Mock
+    private ApplicationEventPublisher publisherMocked;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.initMocks(this);
-        alunoService = new AlunoService(alunoRepositoryMocked);
+        alunoCache = new AlunoCache(new AlunoCacheProperties());
+        AlunoLoader alunoLoader = new AlunoLoader(alunoRepositoryMocked, alunoCache, new AlunoLoaderProperties(), registry);
+        alunoService = new AlunoService(alunoRepositoryMocked, alunoCache, alunoLoader, publisherMocked);
 
         createInstanceAlunoInDataBase();
         createInstanceNewAluno();
@@ -56,8 +98,9 @@ public class AlunoServiceTest {
 
     @Test
     public void should_get_all_alunos() {
-        when(alunoRepositoryMocked.findAll()).thenReturn(Collections.singletonList(alunoInDatabase));
-        List<Aluno> alunoAll = alunoService.getAll();
+        when(alunoRepositoryMocked.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 10)))
+                .thenReturn(Collections.singletonList(alunoInDatabase));
+        List<Aluno> alunoAll = alunoService.getAll(null, 10);
 
         assertThat(alunoAll.size(), equalTo(1));
         assertThat(alunoAll.get(0).getId(), equalTo(ID));
@@ -67,10 +110,20 @@ public class AlunoServiceTest {
 
     @Test
     public void should_get_all_alunos_and_return_empty_list() {
-        List<Aluno> alunoAll = alunoService.getAll();
+        List<Aluno> alunoAll = alunoService.getAll(null, 10);
         assertThat(alunoAll.size(), equalTo(0));
     }
 
+    @Test
+    public void should_get_alunos_after_cursor() {
+        when(alunoRepositoryMocked.findByIdGreaterThanOrderByIdAsc(ID, PageRequest.of(0, 1)))
+                .thenReturn(Collections.singletonList(updatedAlunoInDatabase));
+        List<Aluno> alunoAll = alunoService.getAll(ID, 1);
+
+        assertThat(alunoAll.size(), equalTo(1));
+        assertThat(alunoAll.get(0).getNome(), equalTo(NOME2));
+    }
+
     @Test
     public void should_get_aluno_by_id() {
         when(alunoRepositoryMocked.findById(ID)).thenReturn(Optional.of(alunoInDatabase));
@@ -87,9 +140,179 @@ public class AlunoServiceTest {
         assertThrows(AlunoNotFoundException.class, () -> alunoService.findById(ID));
     }
 
+    @Test
+    public void should_not_capture_stack_trace_of_not_found() {
+        AlunoNotFoundException exception = assertThrows(AlunoNotFoundException.class, () -> alunoService.findById(ID));
+
+        assertThat(exception.getStackTrace().length, equalTo(0));
+    }
+
+    @Test
+    public void should_get_aluno_by_id_from_cache_on_second_lookup() {
+        when(alunoRepositoryMocked.findById(ID)).thenReturn(Optional.of(alunoInDatabase));
+
+        alunoService.findById(ID);
+        Aluno alunoFound = alunoService.findById(ID);
+
+        assertThat(alunoFound.getNome(), equalTo(NOME));
+        verify(alunoRepositoryMocked, times(1)).findById(ID);
+    }
+
+    @Test
+    public void should_coalesce_concurrent_lookups_of_the_same_id() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(alunoRepositoryMocked.findById(ID)).thenAnswer(invocation -> {
+            querying.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(alunoInDatabase);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Aluno> first = executor.submit(() -> alunoService.findById(ID));
+            querying.await(5, TimeUnit.SECONDS);
+            Future<Aluno> second = executor.submit(() -> alunoService.findById(ID));
+            while (registry.counter("aluno.loader.coalesced").count() == 0) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).getNome(), equalTo(NOME));
+            assertThat(second.get(5, TimeUnit.SECONDS).getNome(), equalTo(NOME));
+            verify(alunoRepositoryMocked, times(1)).findById(ID);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void should_batch_concurrent_lookups_of_different_ids() throws Exception {
+        AlunoLoaderProperties properties = new AlunoLoaderProperties();
+        properties.setWindow(Duration.ofSeconds(5));
+        properties.setMaxBatchSize(2);
+        MeterRegistry batchingRegistry = new SimpleMeterRegistry();
+        AlunoLoader batchingLoader = new AlunoLoader(alunoRepositoryMocked, new AlunoCache(new AlunoCacheProperties()),
+                properties, batchingRegistry);
+        Aluno otherAlunoInDatabase = new Aluno();
+        otherAlunoInDatabase.setId(ID2);
+        otherAlunoInDatabase.setNome(NOME2);
+        when(alunoRepositoryMocked.findAllById(any())).thenReturn(Arrays.asList(alunoInDatabase, otherAlunoInDatabase));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<Aluno>> first = executor.submit(() -> batchingLoader.load(ID));
+            Future<Optional<Aluno>> second = executor.submit(() -> batchingLoader.load(ID2));
+
+            assertThat(first.get(5, TimeUnit.SECONDS).get().getNome(), equalTo(NOME));
+            assertThat(second.get(5, TimeUnit.SECONDS).get().getNome(), equalTo(NOME2));
+            verify(alunoRepositoryMocked, times(1)).findAllById(any());
+            verify(alunoRepositoryMocked, never()).findById(any());
+            assertThat(batchingRegistry.get("aluno.loader.coalescing.ratio").gauge().value(), equalTo(2.0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void should_project_aluno_by_id_from_cache_without_querying() {
+        when(alunoRepositoryMocked.findById(ID)).thenReturn(Optional.of(alunoInDatabase));
+        alunoService.findById(ID);
+
+        AlunoView alunoFound = alunoService.findById(ID, AlunoFields.parse("nome"));
+
+        assertThat(alunoFound.getId(), equalTo(ID));
+        assertThat(alunoFound.getNome(), equalTo(NOME));
+        assertThat(alunoFound.getIdade(), nullValue());
+        verify(alunoRepositoryMocked, never()).findViewById(any(), any());
+    }
+
+    @Test
+    public void should_project_aluno_by_id_from_database_on_cache_miss() {
+        Set<AlunoView.Field> fields = AlunoFields.parse("id,idade");
+        when(alunoRepositoryMocked.findViewById(ID, fields)).thenReturn(Optional.of(new AlunoView(ID, null, IDADE, 0L)));
+
+        AlunoView alunoFound = alunoService.findById(ID, fields);
+
+        assertThat(alunoFound.getIdade(), equalTo(IDADE));
+        verify(alunoRepositoryMocked, never()).findById(ID);
+    }
+
+    @Test
+    public void should_reject_unknown_projection_field() {
+        assertThrows(AlunoFieldNotSupportedException.class, () -> AlunoFields.parse("id,versao"));
+    }
+
+    @Test
+    public void should_cache_not_found_lookups() {
+        assertThrows(AlunoNotFoundException.class, () -> alunoService.findById(ID));
+        assertThrows(AlunoNotFoundException.class, () -> alunoService.findById(ID));
+
+        verify(alunoRepositoryMocked, times(1)).findById(ID);
+    }
+
+    @Test
+    public void should_refresh_cache_after_update() {
+        when(alunoRepositoryMocked.findById(ID)).thenReturn(Optional.of(alunoInDatabase));
+        when(alunoRepositoryMocked.updateById(ID, NOME2, IDADE2)).thenReturn(1);
+        when(alunoRepositoryMocked.findVersaoById(ID)).thenReturn(Optional.of(1L));
+
+        alunoService.findById(ID);
+        alunoService.update(ID, updateAluno);
+
+        assertThat(alunoService.findById(ID).getNome(), equalTo(NOME2));
+    }
+
+    @Test
+    public void should_evict_cache_after_delete() {
+        when(alunoRepositoryMocked.findById(ID)).thenReturn(Optional.of(alunoInDatabase), Optional.empty());
+        when(alunoRepositoryMocked.deleteAlunoById(ID)).thenReturn(1);
+
+        alunoService.findById(ID);
+        alunoService.delete(ID);
+
+        assertThrows(AlunoNotFoundException.class, () -> alunoService.findById(ID));
+    }
+
+    @Test
+    public void should_refresh_cache_only_after_commit() {
+        when(alunoRepositoryMocked.findById(ID)).thenReturn(Optional.of(alunoInDatabase));
+        when(alunoRepositoryMocked.updateById(ID, NOME2, IDADE2)).thenReturn(1);
+        when(alunoRepositoryMocked.findVersaoById(ID)).thenReturn(Optional.of(1L));
+        alunoService.findById(ID);
+
+        inTransaction(() -> {
+            alunoService.update(ID, updateAluno);
+            assertThat(alunoService.findById(ID).getNome(), equalTo(NOME));
+        }, true);
+
+        assertThat(alunoService.findById(ID).getNome(), equalTo(NOME2));
+    }
+
+    @Test
+    public void should_keep_cache_untouched_on_rollback() {
+        when(alunoRepositoryMocked.saveAndFlush(newAluno)).thenReturn(alunoInDatabase);
+
+        inTransaction(() -> alunoService.save(newAluno), false);
+
+        assertThat(alunoCache.getIfPresent(ID), nullValue());
+    }
+
+    @Test
+    public void should_not_recache_deleted_aluno_loaded_before_commit() {
+        when(alunoRepositoryMocked.deleteAlunoById(ID)).thenReturn(1);
+
+        inTransaction(() -> {
+            alunoService.delete(ID);
+            // um loader concorrente ainda enxerga a linha antes do commit
+            long evictions = alunoCache.evictions();
+            alunoCache.putLoaded(ID, Optional.of(alunoInDatabase), evictions);
+        }, true);
+
+        assertThat(alunoCache.getIfPresent(ID), nullValue());
+    }
+
     @Test
     public void should_create_new_aluno() {
-        when(alunoRepositoryMocked.save(newAluno)).thenReturn(alunoInDatabase);
+        when(alunoRepositoryMocked.saveAndFlush(newAluno)).thenReturn(alunoInDatabase);
 
         Aluno alunoSaved = alunoService.save(newAluno);
 
@@ -98,37 +321,67 @@ public class AlunoServiceTest {
         assertThat(alunoSaved.getIdade(), equalTo(IDADE));
     }
 
+    @Test
+    public void should_publish_created_event_after_save() {
+        when(alunoRepositoryMocked.saveAndFlush(newAluno)).thenReturn(alunoInDatabase);
+
+        alunoService.save(newAluno);
+
+        ArgumentCaptor<ApplicationEvent> event = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(publisherMocked).publishEvent(event.capture());
+        assertThat(event.getValue(), instanceOf(AlunoCreatedEvent.class));
+        assertThat(((AlunoCreatedEvent) event.getValue()).getAluno(), equalTo(alunoInDatabase));
+    }
+
     @Test
     public void should_deny_creation_of_aluno_that_exists() {
-        when(alunoRepositoryMocked.findByNome("Humberto")).thenReturn(Optional.of(alunoInDatabase));
+        when(alunoRepositoryMocked.saveAndFlush(newAluno)).thenThrow(uniqueNomeViolation());
         assertThrows(AlunoAlreadyExistsException.class, () -> alunoService.save(newAluno));
+        verify(publisherMocked, never()).publishEvent(any(ApplicationEvent.class));
     }
 
     @Test
-    void should_update_aluno() {
+    public void should_propagate_integrity_violation_not_related_to_nome() {
+        when(alunoRepositoryMocked.saveAndFlush(newAluno)).thenThrow(new DataIntegrityViolationException("NOT NULL check constraint"));
+        assertThrows(DataIntegrityViolationException.class, () -> alunoService.save(newAluno));
+    }
 
-        when(alunoRepositoryMocked.findById(ID)).thenReturn(Optional.of(alunoInDatabase));
-        when(alunoService.save(alunoInDatabase)).thenReturn(updatedAlunoInDatabase);
+    @Test
+    void should_update_aluno() {
+        when(alunoRepositoryMocked.updateById(ID, NOME2, IDADE2)).thenReturn(1);
+        when(alunoRepositoryMocked.findVersaoById(ID)).thenReturn(Optional.of(1L));
 
         Aluno alunoSaved = alunoService.update(ID, updateAluno);
 
         assertThat(alunoSaved.getId(), equalTo(ID));
         assertThat(alunoSaved.getNome(), equalTo(NOME2));
         assertThat(alunoSaved.getIdade(), equalTo(IDADE2));
+        assertThat(alunoSaved.getVersao(), equalTo(1L));
     }
 
     @Test
-    public void should_deny_update_of_aluno_that_exists() {
-        Aluno alunoInDatabase2 = new Aluno();
-        alunoInDatabase2.setId(ID2);
-        alunoInDatabase2.setNome(NOME2);
-        alunoInDatabase2.setIdade(IDADE2);
+    void should_update_aluno_with_expected_version_in_a_single_statement() {
+        when(alunoRepositoryMocked.updateByIdAndVersao(ID, 0L, NOME2, IDADE2)).thenReturn(1);
+
+        Aluno alunoSaved = alunoService.update(ID, updateAluno, 0L);
 
-        when(alunoRepositoryMocked.findById(ID2)).thenReturn(Optional.of(alunoInDatabase2));
-        when(alunoRepositoryMocked.findByNome(NOME2)).thenReturn(Optional.of(alunoInDatabase));
+        assertThat(alunoSaved.getVersao(), equalTo(1L));
+        verify(alunoRepositoryMocked, never()).findVersaoById(ID);
+        verify(publisherMocked).publishEvent(any(AlunoUpdatedEvent.class));
+    }
+
+    @Test
+    public void should_deny_update_of_aluno_that_exists() {
+        when(alunoRepositoryMocked.updateById(ID2, NOME2, IDADE2)).thenThrow(uniqueNomeViolation());
         assertThrows(AlunoAlreadyExistsException.class, () -> alunoService.update(ID2, updateAluno));
     }
 
+    @Test
+    public void should_deny_update_of_aluno_with_stale_version() {
+        when(alunoRepositoryMocked.existsById(ID)).thenReturn(true);
+        assertThrows(AlunoVersionMismatchException.class, () -> alunoService.update(ID, updateAluno, 0L));
+    }
+
     @Test
     public void should_deny_update_of_aluno_that_not_found() {
         assertThrows(AlunoNotFoundException.class, () -> alunoService.update(ID2, updateAluno));
@@ -136,13 +389,46 @@ public class AlunoServiceTest {
 
     @Test
     void should_delete_a_aluno() {
-        when(alunoRepositoryMocked.findById(ID)).thenReturn(Optional.of(alunoInDatabase));
+        when(alunoRepositoryMocked.deleteAlunoById(ID)).thenReturn(1);
         alunoService.delete(ID);
+        verify(alunoRepositoryMocked, never()).findById(ID);
+        verify(publisherMocked).publishEvent(any(AlunoDeletedEvent.class));
     }
 
     @Test
     void should_deny_delete_a_aluno() {
         assertThrows(AlunoNotFoundException.class, () -> alunoService.delete(ID));
+        verify(publisherMocked, never()).publishEvent(any(ApplicationEvent.class));
+    }
+
+    @Test
+    void should_deny_delete_a_aluno_with_stale_version() {
+        when(alunoRepositoryMocked.existsById(ID)).thenReturn(true);
+        assertThrows(AlunoVersionMismatchException.class, () -> alunoService.delete(ID, 0L));
+    }
+
+    @Test
+    void should_delete_many_alunos_in_one_statement() {
+        List<Long> ids = Arrays.asList(ID, ID2);
+        when(alunoRepositoryMocked.findIdByIdIn(ids)).thenReturn(ids);
+        when(alunoRepositoryMocked.deleteAlunoByIdIn(ids)).thenReturn(2);
+
+        assertThat(alunoService.deleteAll(ids), equalTo(2));
+        verify(publisherMocked, times(2)).publishEvent(any(AlunoDeletedEvent.class));
+    }
+
+    @Test
+    void should_publish_deleted_events_only_for_existing_alunos() {
+        when(alunoRepositoryMocked.findIdByIdIn(Arrays.asList(ID, ID2))).thenReturn(Collections.singletonList(ID));
+        when(alunoRepositoryMocked.deleteAlunoByIdIn(Collections.singletonList(ID))).thenReturn(1);
+
+        assertThat(alunoService.deleteAll(Arrays.asList(ID, ID2)), equalTo(1));
+        verify(publisherMocked, times(1)).publishEvent(any(AlunoDeletedEvent.class));
+    }
+
+    private DataIntegrityViolationException uniqueNomeViolation() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException("unique constraint or index violation; UK_ALUNO_NOME table: ALUNO"));
     }
 
     private void createInstanceNewAluno() {
@@ -170,4 +456,16 @@ public class AlunoServiceTest {
         updatedAlunoInDatabase.setNome("Thais");
         updatedAlunoInDatabase.setIdade(28);
     }
+
+    private static void inTransaction(Runnable work, boolean commit) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            if (commit) {
+                TransactionSynchronizationUtils.triggerAfterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
 }
@@ -0,0 +1,105 @@
+package br.com.humbertofernandes.aluno.api.service.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+/**
+ * @author Humberto Tadeu de Paiva Gomes Fernandes
+ */
+public class TrigramIndexTest {
+
+    private static final double MIN_SIMILARITY = 0.5;
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(1L, "Humberto Fernandes");
+        index.put(2L, "Thais");
+        index.put(3L, "Rubens");
+        index.put(4L, "Lourdes");
+        index.put(5L, "Lucas");
+    }
+
+    @Test
+    public void should_normalize_case_accents_and_punctuation() {
+        assertThat(TrigramIndex.normalize("  João-Antônio  DA Silva "), equalTo("joao antonio da silva"));
+    }
+
+    @Test
+    public void should_rank_closest_name_first() {
+        index.put(6L, "Lourdes Maria da Conceição");
+
+        long[] ids = index.search("lourdes", MIN_SIMILARITY, 10);
+
+        assertThat(ids.length, equalTo(2));
+        assertThat(ids[0], equalTo(4L));
+        assertThat(ids[1], equalTo(6L));
+    }
+
+    @Test
+    public void should_find_misspelled_name() {
+        assertThat(index.search("Rubem", MIN_SIMILARITY, 10), equalTo(new long[]{3L}));
+    }
+
+    @Test
+    public void should_limit_results() {
+        index.put(6L, "Lucas Silva");
+        index.put(7L, "Lucas Souza");
+
+        assertThat(index.search("Lucas", MIN_SIMILARITY, 2).length, equalTo(2));
+    }
+
+    @Test
+    public void should_reindex_updated_name() {
+        index.put(2L, "Thaís Gomes");
+
+        assertThat(index.search("gomes", MIN_SIMILARITY, 10), equalTo(new long[]{2L}));
+        assertThat(index.size(), equalTo(5));
+    }
+
+    @Test
+    public void should_not_find_removed_name() {
+        index.remove(5L);
+
+        assertThat(index.search("Lucas", MIN_SIMILARITY, 10).length, equalTo(0));
+        assertThat(index.size(), equalTo(4));
+    }
+
+    @Test
+    public void should_keep_results_after_compaction() {
+        for (long id = 100; id < 5_100; id++) {
+            index.put(id, "Aluno " + id);
+        }
+        long before = index.estimatedBytes();
+        for (long id = 100; id < 5_000; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size(), equalTo(105));
+        assertThat(before, greaterThan(index.estimatedBytes()));
+        assertThat(index.search("Aluno 5099", MIN_SIMILARITY, 1), equalTo(new long[]{5099L}));
+        assertThat(index.search("Humberto", MIN_SIMILARITY, 1), equalTo(new long[]{1L}));
+    }
+
+    @Test
+    public void should_count_pooled_search_buffers_in_estimated_bytes() {
+        for (long id = 100; id < 10_100; id++) {
+            index.put(id, "Aluno " + id);
+        }
+        long before = index.estimatedBytes();
+
+        index.search("Aluno 5099", MIN_SIMILARITY, 1);
+        long afterFirst = index.estimatedBytes();
+        index.search("Aluno 6099", MIN_SIMILARITY, 1);
+
+        assertThat(afterFirst - before, greaterThanOrEqualTo(10_000 * 2L));
+        assertThat(index.estimatedBytes(), equalTo(afterFirst));
+    }
+}